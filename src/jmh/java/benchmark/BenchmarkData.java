@@ -0,0 +1,68 @@
+package benchmark;
+
+import com.majwic.Namilx;
+import com.majwic.model.Post;
+import com.majwic.model.PostReaction;
+import com.majwic.model.Profile;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Shared by the benchmarks that need the real application against a seeded in-memory H2 database
+final class BenchmarkData {
+
+    private static final String[] TAGS = {"java", "spring", "hibernate", "postgres", "kotlin", "docker", "linux", "jvm"};
+
+    private BenchmarkData() {}
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        String[] defaults = {
+            "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.jpa.properties.hibernate.show_sql=false",
+            "reactions.reconcile.initial-delay=PT24H",
+            "query-stats.response-headers=false",
+            "logging.level.root=WARN"
+        };
+
+        return new SpringApplicationBuilder(Namilx.class)
+            .web(webApplicationType)
+            .properties(Stream.concat(Stream.of(defaults), Stream.of(properties)).toArray(String[]::new))
+            .run();
+    }
+
+    // Posts spread over TAGS with two tags each; the viewer reacted to every third post. Returns the viewer's id
+    static Long seed(ConfigurableApplicationContext context, int postCount) {
+        ProfileRepository profileRepository = context.getBean(ProfileRepository.class);
+        PostRepository postRepository = context.getBean(PostRepository.class);
+        PostReactionRepository postReactionRepository = context.getBean(PostReactionRepository.class);
+
+        return context.getBean(TransactionTemplate.class).execute(_ -> {
+            Profile viewer = profileRepository.save(new Profile("viewer@bench.mark", "hash", "viewer", List.of()));
+
+            List<Post> posts = new ArrayList<>(postCount);
+            for (int i = 0; i < postCount; i++) {
+                Post post = new Post("Benchmark post content " + i, List.of(), viewer);
+                post.setLikes(i % 997);
+                int secondTag = (i + 1 + (i / TAGS.length) % (TAGS.length - 1)) % TAGS.length;
+                post.setTags(List.of(TAGS[i % TAGS.length], TAGS[secondTag]));
+                posts.add(post);
+            }
+            postRepository.saveAll(posts);
+
+            for (int i = 0; i < postCount; i += 3) {
+                postReactionRepository.save(new PostReaction(posts.get(i), viewer, i % 2 == 0));
+            }
+
+            return viewer.getId();
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import com.majwic.model.Comment;
+import com.majwic.model.Post;
+import com.majwic.model.PostReaction;
+import com.majwic.model.Profile;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Rows inserted per second when a whole page of comments or reactions is saved in one transaction.
+// batchSize=1 sends every INSERT on its own, which is what IDENTITY ids forced on every entity
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private PostReactionRepository postReactionRepository;
+    private List<Profile> profiles;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE,
+            "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        postRepository = context.getBean(PostRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        postReactionRepository = context.getBean(PostReactionRepository.class);
+
+        ProfileRepository profileRepository = context.getBean(ProfileRepository.class);
+        List<Profile> newProfiles = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            newProfiles.add(new Profile("reactor" + i + "@bench.mark", "hash", "reactor" + i, List.of()));
+        }
+        profiles = profileRepository.saveAll(newProfiles);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertComments() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            Post post = postRepository.save(new Post("Benchmark post", List.of("java"), profiles.getFirst()));
+
+            List<Comment> comments = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                comments.add(new Comment("Benchmark comment " + i, post, null, profiles.get(i)));
+            }
+            commentRepository.saveAll(comments);
+        });
+    }
+
+    // A fresh post per invocation keeps every (profile, post) pair unique
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertReactions() {
+        transactionTemplate.executeWithoutResult(_ -> {
+            Post post = postRepository.save(new Post("Benchmark post", List.of("java"), profiles.getFirst()));
+
+            List<PostReaction> reactions = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                reactions.add(new PostReaction(post, profiles.get(i), i % 3 != 0));
+            }
+            postReactionRepository.saveAll(reactions);
+        });
+    }
+}
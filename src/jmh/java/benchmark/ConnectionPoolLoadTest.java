@@ -0,0 +1,191 @@
+package benchmark;
+
+import com.majwic.repository.PostRepository;
+import com.majwic.util.JwtTokenUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Closed-loop load against the read endpoints while a sampler polls the Hikari pool, once with open-in-view (a
+// session and its connection held for the whole request) and once without (held only inside service transactions)
+public class ConnectionPoolLoadTest {
+
+    private static final int POST_COUNT = 10_000;
+    private static final int POOL_SIZE = 10;
+    private static final int[] CONCURRENT_USERS = {25, 100, 400};
+    private static final Duration STEP_DURATION = Duration.ofSeconds(15);
+    private static final Duration SAMPLE_INTERVAL = Duration.ofMillis(1);
+
+    public static void main(String[] args) throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-12s %6s %10s %12s %12s %14s %8s",
+            "open-in-view", "users", "req/s", "mean active", "peak active", "mean waiting", "errors"));
+
+        for (boolean openInView : new boolean[] {true, false}) {
+            report.addAll(run(openInView));
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    // === Private Helper Methods === //
+
+    private static List<String> run(boolean openInView) throws Exception {
+        List<String> lines = new ArrayList<>();
+
+        try (ConfigurableApplicationContext context = BenchmarkData.start(
+                WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.jpa.open-in-view=" + openInView,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE);
+             HttpClient client = HttpClient.newBuilder()
+                 .executor(Executors.newVirtualThreadPerTaskExecutor())
+                 .build()) {
+
+            Long viewerId = BenchmarkData.seed(context, POST_COUNT);
+            long maxPostId = context.getBean(PostRepository.class).findMaxId();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String cookie = "jwtTokenNamilx=" + context.getBean(JwtTokenUtil.class).generateToken(viewerId.toString());
+            Target target = new Target(client, "http://localhost:" + port, cookie, maxPostId - POST_COUNT + 1,
+                maxPostId);
+            HikariPoolMXBean pool = context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+
+            runStep(target, pool, CONCURRENT_USERS[0]);
+
+            for (int users : CONCURRENT_USERS) {
+                StepResult result = runStep(target, pool, users);
+                lines.add(String.format("%-12s %6d %10.0f %12.2f %12d %14.2f %8d",
+                    openInView, users, result.throughput(), result.meanActive(), result.peakActive(),
+                    result.meanWaiting(), result.errors()));
+            }
+        }
+
+        return lines;
+    }
+
+    private static StepResult runStep(Target target, HikariPoolMXBean pool, int users) throws Exception {
+        long deadline = System.nanoTime() + STEP_DURATION.toNanos();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        PoolSamples samples = new PoolSamples();
+        List<Future<int[]>> futures = new ArrayList<>(users);
+
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (sampling.get()) {
+                samples.record(pool.getActiveConnections(), pool.getThreadsAwaitingConnection());
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL);
+                } catch (InterruptedException _) {
+                    return;
+                }
+            }
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(() -> runUser(target, deadline)));
+            }
+        }
+        sampling.set(false);
+        sampler.join();
+
+        int requests = 0;
+        int errors = 0;
+        for (Future<int[]> future : futures) {
+            int[] counts = future.get();
+            requests += counts[0];
+            errors += counts[1];
+        }
+
+        return new StepResult(requests, errors, samples, STEP_DURATION);
+    }
+
+    // Returns {requests, errors}
+    private static int[] runUser(Target target, long deadline) {
+        int requests = 0;
+        int errors = 0;
+
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<Void> response = target.client().send(target.nextRequest(),
+                    HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                }
+            } catch (Exception _) {
+                errors++;
+            }
+            requests++;
+        }
+
+        return new int[] {requests, errors};
+    }
+
+    private record Target(HttpClient client, String baseUrl, String cookie, long minPostId, long maxPostId) {
+
+        // Single-post reads (mostly cache hits plus the viewer reaction), tag feed pages and comment threads
+        HttpRequest nextRequest() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long postId = random.nextLong(minPostId, maxPostId + 1);
+            String path = switch (random.nextInt(3)) {
+                case 0 -> "/post/" + postId;
+                case 1 -> "/post/tag?tag=java&size=20";
+                default -> "/comment/from-post/" + postId + "?size=20";
+            };
+
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Cookie", cookie)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        }
+    }
+
+    private static final class PoolSamples {
+
+        private long count;
+        private long activeTotal;
+        private long waitingTotal;
+        private int peakActive;
+
+        void record(int active, int waiting) {
+            count++;
+            activeTotal += active;
+            waitingTotal += waiting;
+            peakActive = Math.max(peakActive, active);
+        }
+    }
+
+    private record StepResult(int requests, int errors, PoolSamples samples, Duration duration) {
+
+        double throughput() {
+            return requests / (double) duration.toSeconds();
+        }
+
+        double meanActive() {
+            return samples.count == 0 ? 0 : samples.activeTotal / (double) samples.count;
+        }
+
+        int peakActive() {
+            return samples.peakActive;
+        }
+
+        double meanWaiting() {
+            return samples.count == 0 ? 0 : samples.waitingTotal / (double) samples.count;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package benchmark;
+
+import com.majwic.util.FieldName;
+import com.majwic.util.JsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Builds a full feed page (posts with tags and viewer reaction) with both builders
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBuilderBenchmark {
+
+    @Param({"20"})
+    private int pageSize;
+
+    private String content;
+    private List<String> tags;
+
+    @Setup
+    public void setUp() {
+        content = "Example post content with a few more words in it to look like a real post. ".repeat(3);
+        tags = List.of("java", "performance", "spring");
+    }
+
+    @Benchmark
+    public String streaming() {
+        List<JsonBuilder> posts = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            posts.add(new JsonBuilder()
+                .add(FieldName.ID, id)
+                .add(FieldName.CONTENT, content)
+                .add(FieldName.LIKES, id * 3)
+                .add(FieldName.DISLIKES, id)
+                .add(FieldName.TAGS, tags)
+                .add(FieldName.AUTHOR_ID, 2L)
+                .add(FieldName.IS_LIKED, id % 2 == 0));
+        }
+
+        return new JsonBuilder()
+            .add(FieldName.POSTS, posts)
+            .add(FieldName.NEXT_CURSOR, "MTIzOjQ1Ng")
+            .build();
+    }
+
+    @Benchmark
+    public String legacy() {
+        List<LegacyJsonBuilder> posts = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            posts.add(new LegacyJsonBuilder()
+                .add(FieldName.ID, id)
+                .add(FieldName.CONTENT, content)
+                .add(FieldName.LIKES, id * 3)
+                .add(FieldName.DISLIKES, id)
+                .add(FieldName.TAGS, tags)
+                .add(FieldName.AUTHOR_ID, 2L)
+                .add(FieldName.IS_LIKED, id % 2 == 0));
+        }
+
+        return new LegacyJsonBuilder()
+            .add(FieldName.POSTS, posts)
+            .add(FieldName.NEXT_CURSOR, "MTIzOjQ1Ng")
+            .build();
+    }
+}
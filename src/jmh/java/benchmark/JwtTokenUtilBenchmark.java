@@ -0,0 +1,59 @@
+package benchmark;
+
+import com.majwic.util.JwtTokenUtil;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    private static final String SECRET_KEY = "benchmarkSecretKeyThatIsLongEnoughForHs256";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil();
+        jwtTokenUtil.setSecretKey(SECRET_KEY);
+        jwtTokenUtil.setExpirationTime(28800000);
+        token = jwtTokenUtil.generateToken("42");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken("42");
+    }
+
+    // Verified-token cache hit; this is what every authenticated request with the same cookie pays
+    @Benchmark
+    public String getUserIdFromTokenCached() {
+        return jwtTokenUtil.getUserIdFromToken(token);
+    }
+
+    // The previous path: Base64-decode the secret, parse the claims and recompute the HMAC on every call
+    @Benchmark
+    public String getUserIdFromTokenParsed() {
+        return Jwts.parser()
+            .setSigningKey(SECRET_KEY)
+            .parseClaimsJws(token)
+            .getBody()
+            .getSubject();
+    }
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The recursive builder JsonBuilder replaced, kept only as the benchmark baseline
+public class LegacyJsonBuilder {
+    private final Map<String, Object> jsonMap = new LinkedHashMap<>();
+
+    public LegacyJsonBuilder add(String key, Object value) {
+        jsonMap.put(key, value);
+        return this;
+    }
+
+    public LegacyJsonBuilder add(String key, LegacyJsonBuilder nestedBuilder) {
+        jsonMap.put(key, nestedBuilder.jsonMap);
+        return this;
+    }
+
+    public String build() {
+        return buildJson(jsonMap);
+    }
+
+    private String buildJson(Object object) {
+        StringBuilder json = new StringBuilder();
+
+        if (object instanceof Map) {
+            json.append("{");
+            ((Map<?, ?>) object).forEach((key, value) -> {
+                json.append("\"").append(key).append("\":").append(buildJson(value)).append(",");
+            });
+            if (json.charAt(json.length() - 1) == ',') {
+                json.deleteCharAt(json.length() - 1);
+            }
+            json.append("}");
+        } else if (object instanceof List) {
+            json.append("[");
+            ((List<?>) object).forEach(item -> json.append(buildJson(item)).append(","));
+            if (json.charAt(json.length() - 1) == ',') {
+                json.deleteCharAt(json.length() - 1);
+            }
+            json.append("]");
+        } else if (object instanceof String) {
+            json.append("\"").append(object).append("\"");
+        } else {
+            json.append(object);
+        }
+
+        return json.toString();
+    }
+
+    @Override
+    public String toString() {
+        return buildJson(jsonMap);
+    }
+}
@@ -0,0 +1,66 @@
+package benchmark;
+
+import com.majwic.service.PostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Runs the tag feed against a seeded in-memory H2 database through the real Spring context
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PostServiceBenchmark {
+
+    @Param({"10000"})
+    private int postCount;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private Long viewerId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.NONE);
+        postService = context.getBean(PostService.class);
+        viewerId = BenchmarkData.seed(context, postCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String tagFeedByLikes() {
+        return postService.getPostsByTag("java", "likes", "desc", null, pageSize, viewerId);
+    }
+
+    @Benchmark
+    public String tagFeedByLikesAnonymous() {
+        return postService.getPostsByTag("java", "likes", "desc", null, pageSize, null);
+    }
+
+    @Benchmark
+    public String untaggedFeedById() {
+        return postService.getPostsByTag(null, "id", "desc", null, pageSize, viewerId);
+    }
+}
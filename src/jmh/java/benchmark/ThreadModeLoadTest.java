@@ -0,0 +1,164 @@
+package benchmark;
+
+import com.majwic.repository.PostRepository;
+import com.majwic.util.JwtTokenUtil;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Closed-loop load test: N users each send their next request as soon as the previous one answers
+public class ThreadModeLoadTest {
+
+    private static final int POST_COUNT = 10_000;
+    private static final int[] CONCURRENT_USERS = {50, 100, 200, 400, 800, 1600};
+    private static final Duration STEP_DURATION = Duration.ofSeconds(15);
+    private static final Duration P99_TARGET = Duration.ofMillis(250);
+
+    public static void main(String[] args) throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-9s %6s %10s %10s %10s %8s", "mode", "users", "req/s", "p50 ms", "p99 ms", "errors"));
+
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            report.addAll(run(virtualThreads));
+        }
+
+        report.forEach(System.out::println);
+    }
+
+    // === Private Helper Methods === //
+
+    private static List<String> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        List<String> lines = new ArrayList<>();
+
+        try (ConfigurableApplicationContext context = BenchmarkData.start(
+                WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads);
+             HttpClient client = HttpClient.newBuilder()
+                 .executor(Executors.newVirtualThreadPerTaskExecutor())
+                 .build()) {
+
+            Long viewerId = BenchmarkData.seed(context, POST_COUNT);
+            long maxPostId = context.getBean(PostRepository.class).findMaxId();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String cookie = "jwtTokenNamilx=" + context.getBean(JwtTokenUtil.class).generateToken(viewerId.toString());
+            Target target = new Target(client, "http://localhost:" + port, cookie, maxPostId - POST_COUNT + 1, maxPostId);
+
+            runStep(target, CONCURRENT_USERS[0]);
+
+            int maxUsersWithinTarget = 0;
+            for (int users : CONCURRENT_USERS) {
+                StepResult result = runStep(target, users);
+                lines.add(String.format("%-9s %6d %10.0f %10.1f %10.1f %8d",
+                    mode, users, result.throughput(), result.percentileMillis(50), result.percentileMillis(99),
+                    result.errors()));
+
+                if (result.percentileMillis(99) <= P99_TARGET.toMillis() && result.errors() == 0) {
+                    maxUsersWithinTarget = users;
+                }
+            }
+
+            lines.add(String.format("%-9s max concurrent users with p99 <= %d ms and no errors: %d",
+                mode, P99_TARGET.toMillis(), maxUsersWithinTarget));
+        }
+
+        return lines;
+    }
+
+    private static StepResult runStep(Target target, int users) throws Exception {
+        long deadline = System.nanoTime() + STEP_DURATION.toNanos();
+        List<Future<UserResult>> futures = new ArrayList<>(users);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                futures.add(executor.submit(() -> runUser(target, deadline)));
+            }
+        }
+
+        long[] latencies = new long[0];
+        int errors = 0;
+        for (Future<UserResult> future : futures) {
+            UserResult result = future.get();
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + result.count());
+            System.arraycopy(result.latencies(), 0, latencies, offset, result.count());
+            errors += result.errors();
+        }
+
+        Arrays.sort(latencies);
+        return new StepResult(latencies, errors, STEP_DURATION);
+    }
+
+    private static UserResult runUser(Target target, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        int errors = 0;
+
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = target.client().send(target.nextRequest(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                }
+            } catch (Exception _) {
+                errors++;
+            }
+
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+
+        return new UserResult(latencies, count, errors);
+    }
+
+    private record Target(HttpClient client, String baseUrl, String cookie, long minPostId, long maxPostId) {
+
+        // Half single-post reads (view + viewer reaction fan-out), half tag feed pages
+        HttpRequest nextRequest() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String path = random.nextBoolean() ?
+                "/post/" + random.nextLong(minPostId, maxPostId + 1) :
+                "/post/tag?tag=java&size=20";
+
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Cookie", cookie)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        }
+    }
+
+    private record UserResult(long[] latencies, int count, int errors) {}
+
+    private record StepResult(long[] sortedLatencies, int errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (double) duration.toSeconds();
+        }
+
+        double percentileMillis(int percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package benchmark;
+
+import com.majwic.util.FieldName;
+import com.majwic.util.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationUtilBenchmark {
+
+    private Map<String, Object> requestBody;
+    private Map<String, Class<?>> requiredFields;
+
+    @Setup
+    public void setUp() {
+        requestBody = new HashMap<>();
+        requestBody.put(FieldName.CONTENT, "Example post content");
+        requestBody.put(FieldName.TAGS, List.of("tag1", "tag2", "tag3"));
+
+        requiredFields = new HashMap<>();
+        requiredFields.put(FieldName.CONTENT, String.class);
+        requiredFields.put(FieldName.TAGS, List.class);
+    }
+
+    @Benchmark
+    public String validateEmail() {
+        return ValidationUtil.validateEmail("first.last-name@mail.example.com");
+    }
+
+    @Benchmark
+    public void validateRequiredFields(Blackhole blackhole) {
+        ValidationUtil.validateRequiredFields(requestBody, requiredFields);
+        blackhole.consume(requestBody);
+    }
+}
@@ -3,9 +3,11 @@ package com.majwic.configuration;
 
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -13,19 +15,28 @@ import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class CacheConfig {
 
+    public static final String POSTS = "posts";
+    public static final String COMMENTS = "comments";
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
-            "postLikesCountCache",
-            "postDislikesCountCache",
-            "commentLikesCountCache",
-            "commentDislikesCountCache"
-        );
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(Caffeine.newBuilder()
             .expireAfterWrite(1, TimeUnit.MINUTES)
-            .maximumSize(100));
-        return cacheManager;
+            .maximumSize(100)
+            .recordStats());
+
+        cacheProperties.getRegions().forEach((name, region) ->
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .expireAfterWrite(region.getExpireAfterWrite())
+                .maximumSize(region.getMaximumSize())
+                .recordStats()
+                .build()));
+
+        // Evictions are deferred until commit so a concurrent read cannot re-cache the pre-write row
+        return new TransactionAwareCacheManagerProxy(cacheManager);
     }
 }
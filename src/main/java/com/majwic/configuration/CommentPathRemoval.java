@@ -0,0 +1,22 @@
+package com.majwic.configuration;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class CommentPathRemoval {
+
+    // Trees are walked by parent_comment_id, so the materialized path and its indexes are no longer kept.
+    // ddl-auto=update never drops anything, so databases that had them lose them here
+    @Bean
+    public CommandLineRunner dropCommentPaths(JdbcTemplate jdbcTemplate) {
+        return (_) -> {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_comment_post_path_pattern");
+            jdbcTemplate.execute("DROP INDEX IF EXISTS idx_comment_post_path");
+            jdbcTemplate.execute("ALTER TABLE comment DROP COLUMN IF EXISTS path");
+            jdbcTemplate.execute("ALTER TABLE comment DROP COLUMN IF EXISTS depth");
+        };
+    }
+}
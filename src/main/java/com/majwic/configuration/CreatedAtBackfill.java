@@ -0,0 +1,25 @@
+package com.majwic.configuration;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Configuration
+public class CreatedAtBackfill {
+
+    // Rows written before created_at existed sort as the oldest, in id order, so "new" feeds never skip them
+    @Bean
+    public CommandLineRunner backfillCreatedAt(JdbcTemplate jdbcTemplate) {
+        return (_) -> {
+            Timestamp legacy = Timestamp.from(Instant.EPOCH);
+            jdbcTemplate.update("UPDATE post SET created_at = ? WHERE created_at IS NULL", legacy);
+            jdbcTemplate.update("UPDATE comment SET created_at = ? WHERE created_at IS NULL", legacy);
+            jdbcTemplate.update("UPDATE post_tag SET created_at = " +
+                "(SELECT p.created_at FROM post p WHERE p.id = post_tag.post_id) WHERE created_at IS NULL");
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.majwic.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class DataSourceConfig {
+
+    // The Hikari pool Spring Boot would otherwise create, still bound from spring.datasource.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource pooledDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // Only when datasource.replica.urls is set; replicas share the primary's driver and, unless overridden, credentials
+    @Bean
+    @ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+        HikariDataSource pooledDataSource,
+        DataSourceProperties properties,
+        ReplicaProperties replicaProperties
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaProperties.getUrls()) {
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(replicaProperties.getUsername() != null
+                    ? replicaProperties.getUsername() : properties.determineUsername())
+                .password(replicaProperties.getPassword() != null
+                    ? replicaProperties.getPassword() : properties.determinePassword())
+                .build();
+            replica.setPoolName(ReplicaRoutingDataSource.replicaKey(replicas.size()));
+            replica.setMaximumPoolSize(replicaProperties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(pooledDataSource, replicas);
+    }
+
+    // A transaction takes a pooled connection at its first statement rather than at begin, so a read answered
+    // from the cache never occupies one
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        HikariDataSource pooledDataSource,
+        ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource
+    ) {
+        DataSource routing = replicaRoutingDataSource.getIfAvailable();
+        return new LazyConnectionDataSourceProxy(routing != null ? routing : pooledDataSource);
+    }
+}
@@ -0,0 +1,43 @@
+package com.majwic.configuration;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@Configuration
+public class IdSequenceMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+    private static final List<String> TABLES =
+        List.of("profile", "post", "post_tag", "comment", "post_reaction", "comment_reaction");
+
+    // Tables that were filled through IDENTITY columns get their new <table>_seq moved past the highest id.
+    // A sequence already in use is left alone: its ids never exceed the last handed-out block
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public CommandLineRunner alignIdSequences(JdbcTemplate jdbcTemplate) {
+        return (_) -> {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return;
+            }
+
+            for (String table : TABLES) {
+                String sequence = table + "_seq";
+                jdbcTemplate.query(
+                    "SELECT setval('" + sequence + "', t.max_id + 1, false) " +
+                    "FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table + ") t " +
+                    "WHERE t.max_id >= (SELECT CASE WHEN is_called THEN last_value + " + ALLOCATION_SIZE +
+                    " ELSE last_value END FROM " + sequence + ")",
+                    _ -> {});
+            }
+        };
+    }
+}
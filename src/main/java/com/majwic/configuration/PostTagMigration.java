@@ -0,0 +1,38 @@
+package com.majwic.configuration;
+
+import com.majwic.model.Post;
+import com.majwic.repository.PostRepository;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+@Configuration
+public class PostTagMigration {
+
+    private static final int BATCH_SIZE = 500;
+
+    // One-time backfill of post_tag rows for posts created before tags were normalized
+    @Bean
+    public CommandLineRunner migratePostTags(PostRepository postRepo, TransactionTemplate transactionTemplate) {
+        return (_) -> {
+            long afterId = 0;
+            while (true) {
+                long lastId = afterId;
+                Long migratedUpTo = transactionTemplate.execute(_ -> {
+                    List<Post> posts = postRepo.findWithUnmigratedTags(lastId, PageRequest.of(0, BATCH_SIZE));
+                    posts.forEach(post -> post.setTags(post.getTags()));
+                    return posts.isEmpty() ? null : posts.getLast().getId();
+                });
+
+                if (migratedUpTo == null) {
+                    return;
+                }
+                afterId = migratedUpTo;
+            }
+        };
+    }
+}
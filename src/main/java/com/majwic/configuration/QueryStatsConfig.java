@@ -0,0 +1,19 @@
+package com.majwic.configuration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsHibernateProperties() {
+        return properties -> {
+            // Hibernate creates one listener per session; both only touch the request's QueryStats
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryStatsSessionListener.class.getName());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryStatsStatementInspector());
+        };
+    }
+}
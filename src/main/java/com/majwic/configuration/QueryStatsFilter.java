@@ -0,0 +1,89 @@
+package com.majwic.configuration;
+
+import com.majwic.util.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${query-stats.response-headers:false}")
+    private boolean responseHeaders;
+
+    @Value("${query-stats.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        // The body is buffered only so the headers can still be set once the handler has run
+        HttpServletResponse target = responseHeaders ? new ContentCachingResponseWrapper(response) : response;
+
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            QueryStats.end();
+            record(request, stats);
+
+            if (target instanceof ContentCachingResponseWrapper wrapper) {
+                wrapper.setHeader(QUERY_COUNT_HEADER, String.valueOf(stats.statementCount()));
+                wrapper.setHeader(QUERY_TIME_HEADER, String.valueOf(stats.elapsedMillis()));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.statementCount());
+
+        Timer.builder("http.server.requests.db.time")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(meterRegistry)
+            .record(stats.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        stats.mostRepeatedStatement()
+            .filter(entry -> entry.getValue() >= repeatedStatementThreshold)
+            .ifPresent(entry -> log.warn("Possible N+1 on {} {}: statement prepared {} times: {}",
+                request.getMethod(), uri, entry.getValue(), entry.getKey()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.majwic.configuration;
+
+import com.majwic.util.QueryStats;
+import org.hibernate.SessionEventListener;
+
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.onStatementStart();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.onStatementEnd();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        jdbcExecuteStatementStart();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,16 @@
+package com.majwic.configuration;
+
+import com.majwic.util.QueryStats;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class QueryStatsStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.onStatementPrepared(sql);
+        }
+        return sql;
+    }
+}
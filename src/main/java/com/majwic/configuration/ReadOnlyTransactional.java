@@ -0,0 +1,16 @@
+package com.majwic.configuration;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Spring's read-only transaction for service reads: Hibernate runs with flush mode MANUAL and keeps no snapshots of
+// loaded entities, and the JDBC connection is marked read-only
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
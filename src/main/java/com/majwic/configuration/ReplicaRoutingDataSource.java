@@ -0,0 +1,61 @@
+package com.majwic.configuration;
+
+import com.majwic.util.ReplicaReads;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Read-only transactions on a thread allowed to use replicas take the replicas in turn; everything else, including
+// work outside a transaction, goes to the primary. Sits under LazyConnectionDataSourceProxy, so the key is resolved
+// at a transaction's first statement, once its read-only flag is known
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        this.replicas = List.copyOf(replicas);
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(replicaKey(i), this.replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    public static String replicaKey(int index) {
+        return "replica-" + (index + 1);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!ReplicaReads.isAllowed() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        return replicaKey(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    // The primary pool is its own bean; the replica pools are created for this router and closed with it
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.majwic.configuration;
+
+import com.majwic.util.ReplicaReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// GET reads may use a replica. Any other request sets a short-lived cookie that keeps the client's reads on the
+// primary until replication has caught up with its own write; the cookie works across instances and needs no lookup
+@Component
+@ConditionalOnProperty(prefix = "datasource.replica", name = "urls")
+public class ReplicaRoutingFilter extends OncePerRequestFilter {
+
+    public static final String READ_PRIMARY_COOKIE = "readPrimary";
+
+    private final int stickySeconds;
+
+    public ReplicaRoutingFilter(ReplicaProperties replicaProperties) {
+        long millis = replicaProperties.getStickyWindow().toMillis();
+        this.stickySeconds = (int) Math.max(1, (millis + 999) / 1000);
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        if (isRead(request)) {
+            if (!hasReadPrimaryCookie(request)) {
+                ReplicaReads.allow();
+            }
+        } else if (!"OPTIONS".equals(request.getMethod())) {
+            // Added before the handler runs, while the response can still take headers
+            response.addCookie(readPrimaryCookie());
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaReads.clear();
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    private static boolean isRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+    }
+
+    private static boolean hasReadPrimaryCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) return false;
+
+        for (Cookie cookie : cookies) {
+            if (READ_PRIMARY_COOKIE.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Cookie readPrimaryCookie() {
+        Cookie cookie = new Cookie(READ_PRIMARY_COOKIE, "1");
+        cookie.setHttpOnly(true);
+        cookie.setSecure(true);
+        cookie.setPath("/");
+        cookie.setMaxAge(stickySeconds);
+        return cookie;
+    }
+}
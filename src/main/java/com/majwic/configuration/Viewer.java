@@ -0,0 +1,12 @@
+package com.majwic.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks an Optional<Long> controller parameter that receives the signed-in profile id, or empty for anonymous
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Viewer {
+}
@@ -0,0 +1,47 @@
+package com.majwic.configuration;
+
+import com.majwic.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.Optional;
+
+public class ViewerArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String VIEWER_ATTRIBUTE = ViewerArgumentResolver.class.getName() + ".viewer";
+
+    private final AuthService authService;
+
+    public ViewerArgumentResolver(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(Viewer.class) && parameter.getParameterType() == Optional.class;
+    }
+
+    @Override
+    public Optional<Long> resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory
+    ) {
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+
+        // Resolved once per request, however many handler parameters ask for it
+        @SuppressWarnings("unchecked")
+        Optional<Long> viewer = (Optional<Long>) request.getAttribute(VIEWER_ATTRIBUTE);
+        if (viewer == null) {
+            viewer = authService.findUserIdFromCookie(request);
+            request.setAttribute(VIEWER_ATTRIBUTE, viewer);
+        }
+
+        return viewer;
+    }
+}
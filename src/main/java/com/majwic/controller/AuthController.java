@@ -63,8 +63,12 @@ public class AuthController implements AuthDocumentation {
     @Override
     @DeleteMapping("/auth/signout")
     public ResponseEntity<Void> signout(
+        HttpServletRequest request,
         HttpServletResponse response
     ) {
+        // === Revoke the current token so a copied cookie stops working === //
+        authService.signOut(request);
+
         // === Create and configure a null and expired cookie === //
         Cookie cookie = new Cookie("jwtTokenNamilx", null);
         cookie.setHttpOnly(true);
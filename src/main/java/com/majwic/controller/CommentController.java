@@ -1,5 +1,6 @@
 package com.majwic.controller;
 
+import com.majwic.configuration.Viewer;
 import com.majwic.service.AuthService;
 import com.majwic.service.CommentService;
 import com.majwic.swagger.CommentDocumentation;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 public class CommentController implements CommentDocumentation {
@@ -50,15 +52,9 @@ public class CommentController implements CommentDocumentation {
     @GetMapping(value = "/comment/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<String> read(
         @PathVariable Long id,
-        HttpServletRequest request
+        @Viewer Optional<Long> viewerId
     ) {
-        Long profileId;
-        try {
-            profileId = authService.getUserIdFromCookie(request);
-        } catch (Exception _) {
-            profileId = null;
-        }
-        String response = commentService.read(id, profileId);
+        String response = commentService.read(id, viewerId.orElse(null));
 
         return ResponseEntity.ok(response);
     }
@@ -67,18 +63,26 @@ public class CommentController implements CommentDocumentation {
     public ResponseEntity<String> readAll(
         @PathVariable Long postId,
         @RequestParam(required = false) Long parentCommentId,
-        @RequestParam int page,
+        @RequestParam(defaultValue = "likes") String sortBy,
+        @RequestParam(required = false) String cursor,
         @RequestParam int size,
-        HttpServletRequest request
+        @Viewer Optional<Long> viewerId
+    ) {
+        String response = commentService.readAll(postId, parentCommentId, viewerId.orElse(null), sortBy, cursor,
+            size);
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/comment/tree/{postId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> readTree(
+        @PathVariable Long postId,
+        @RequestParam(required = false) Long parentCommentId,
+        @RequestParam(defaultValue = "3") int depth,
+        @RequestParam(defaultValue = "5") int fanOut,
+        @Viewer Optional<Long> viewerId
     ) {
-        Long profileId;
-        try {
-            profileId = authService.getUserIdFromCookie(request);
-        } catch (Exception _) {
-            profileId = null;
-        }
-
-        String response = commentService.readAll(postId, parentCommentId, profileId, page, size);
+        String response = commentService.readTree(postId, parentCommentId, viewerId.orElse(null), depth, fanOut);
 
         return ResponseEntity.ok(response);
     }
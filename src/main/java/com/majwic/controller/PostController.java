@@ -1,5 +1,6 @@
 package com.majwic.controller;
 
+import com.majwic.configuration.Viewer;
 import com.majwic.service.AuthService;
 import com.majwic.service.PostService;
 import com.majwic.swagger.PostDocumentation;
@@ -8,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 public class PostController implements PostDocumentation {
@@ -58,15 +60,9 @@ public class PostController implements PostDocumentation {
     @GetMapping("/post/{id}")
     public ResponseEntity<String> read(
         @PathVariable Long id,
-        HttpServletRequest request
+        @Viewer Optional<Long> viewerId
     ) {
-        Long profileId;
-        try {
-            profileId = authService.getUserIdFromCookie(request);
-        } catch (Exception _) {
-            profileId = null;
-        }
-        String response = postService.read(id, profileId);
+        String response = postService.read(id, viewerId.orElse(null));
 
         return ResponseEntity.ok(response);
     }
@@ -78,16 +74,26 @@ public class PostController implements PostDocumentation {
         @RequestParam(required = false) String tag,
         @RequestParam(defaultValue = "likes") String sortBy,
         @RequestParam(defaultValue = "desc") String sortDir,
-        @RequestParam int page,
+        @RequestParam(required = false) String cursor,
         @RequestParam int size,
-        HttpServletRequest request
+        @Viewer Optional<Long> viewerId
     ) {
-        Long profileId = null;
-        try {
-            profileId = authService.getUserIdFromCookie(request);
-        } catch (Exception _) {}
+        String response = postService.getPostsByTag(tag, sortBy, sortDir, cursor, size, viewerId.orElse(null));
+
+        return ResponseEntity.ok(response);
+    }
 
-        String response = postService.getPostsByTag(tag, sortBy, sortDir, page, size, profileId);
+    // ======================================== GET Hot Posts ========================================
+
+    @Override
+    @GetMapping("/post/hot")
+    public ResponseEntity<String> readHot(
+        @RequestParam(required = false) String tag,
+        @RequestParam(required = false) String cursor,
+        @RequestParam int size,
+        @Viewer Optional<Long> viewerId
+    ) {
+        String response = postService.getHotPosts(tag, cursor, size, viewerId.orElse(null));
 
         return ResponseEntity.ok(response);
     }
@@ -0,0 +1,8 @@
+package com.majwic.exception;
+
+// Expected, client-facing failures; they are mapped straight to a response, so no stack trace is captured
+public abstract class DomainException extends RuntimeException {
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
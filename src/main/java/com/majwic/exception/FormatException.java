@@ -1,6 +1,6 @@
 package com.majwic.exception;
 
-public class FormatException extends RuntimeException {
+public class FormatException extends DomainException {
     public FormatException(String message) {
         super(message);
     }
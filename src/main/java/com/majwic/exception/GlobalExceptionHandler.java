@@ -3,6 +3,7 @@ package com.majwic.exception;
 import com.majwic.util.JsonBuilder;
 import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -56,6 +57,17 @@ public class GlobalExceptionHandler {
             .body(buildErrorResponse("NOT_ACCEPTABLE", ex.getMessage()));
     }
     
+    @Hidden
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<String> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(buildErrorResponse("SERVICE_UNAVAILABLE", ex.getMessage()));
+    }
+
     private static String buildErrorResponse(String error, String message) {
         return new JsonBuilder()
             .add("error", error)
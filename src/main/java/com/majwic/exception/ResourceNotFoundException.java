@@ -1,6 +1,6 @@
 package com.majwic.exception;
 
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends DomainException {
     public ResourceNotFoundException(String message) {
         super(message);
     }
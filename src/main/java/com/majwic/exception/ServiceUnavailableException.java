@@ -0,0 +1,7 @@
+package com.majwic.exception;
+
+public class ServiceUnavailableException extends DomainException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
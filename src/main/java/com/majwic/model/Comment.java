@@ -1,24 +1,52 @@
 package com.majwic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "comment")
+@Table(
+    name = "comment",
+    indexes = {
+        @Index(name = "idx_comment_thread_likes", columnList = "post_id, parent_comment_id, likes DESC, id DESC"),
+        @Index(name = "idx_comment_thread_replies",
+            columnList = "post_id, parent_comment_id, reply_count DESC, id DESC"),
+        @Index(name = "idx_comment_author", columnList = "profile_id"),
+        @Index(name = "idx_comment_deleted", columnList = "deleted")
+    }
+)
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
 
     private String content;
 
+    @Column(updatable = false)
     private long likes;
 
+    @Column(updatable = false)
     private long dislikes;
 
+    // Visible direct replies
+    @ColumnDefault("0")
+    @Column(name = "reply_count", nullable = false, updatable = false)
+    private long replyCount;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    // Set together with the whole reply subtree, so no reply outlives a hidden ancestor
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private boolean deleted;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
@@ -40,6 +68,7 @@ public class Comment {
         this.content = content;
         this.likes = 0;
         this.dislikes = 0;
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
         this.post = post;
         this.parentComment = parentComment;
         this.replies = new HashSet<>();
@@ -71,6 +100,30 @@ public class Comment {
         this.likes = likes;
     }
 
+    public long getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(long replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
     public Long getDislikes() {
         return dislikes;
     }
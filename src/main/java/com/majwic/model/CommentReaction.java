@@ -3,10 +3,19 @@ package com.majwic.model;
 import jakarta.persistence.*;
 
 @Entity
+@Table(
+    name = "comment_reaction",
+    uniqueConstraints = @UniqueConstraint(
+        name = "uk_comment_reaction_profile_comment",
+        columnNames = {"profile_id", "comment_id"}
+    ),
+    indexes = @Index(name = "idx_comment_reaction_comment_like", columnList = "comment_id, is_like")
+)
 public class CommentReaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_reaction_seq")
+    @SequenceGenerator(name = "comment_reaction_seq", sequenceName = "comment_reaction_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
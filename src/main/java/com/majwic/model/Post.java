@@ -2,29 +2,63 @@ package com.majwic.model;
 
 import com.majwic.exception.FormatException;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "post")
+@Table(
+    name = "post",
+    indexes = {
+        @Index(name = "idx_post_likes", columnList = "likes DESC, id DESC"),
+        @Index(name = "idx_post_created_at", columnList = "created_at DESC, id DESC"),
+        @Index(name = "idx_post_comment_count", columnList = "comment_count DESC, id DESC"),
+        @Index(name = "idx_post_author", columnList = "profile_id"),
+        @Index(name = "idx_post_deleted", columnList = "deleted")
+    }
+)
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_seq")
+    @SequenceGenerator(name = "post_seq", sequenceName = "post_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 1000)
     private String content;
 
+    @Column(updatable = false)
     private long likes;
 
+    @Column(updatable = false)
     private long dislikes;
 
+    // Visible comments at any depth; like the reaction counters it only changes through atomic updates
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
+
     private String tags;
 
+    // Microsecond precision, the finest both H2 and PostgreSQL store, so feed cursors round-trip exactly
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    // Set by bulk update on delete; hidden from every read until ContentPurgeWorker removes the row
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private boolean deleted;
+
+    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    private Set<PostTag> postTags = new HashSet<>();
+
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Comment> comments;
 
@@ -38,6 +72,7 @@ public class Post {
         this.content = content;
         this.likes = 0;
         this.dislikes = 0;
+        this.createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
         this.setTags(tags);
         this.comments = new HashSet<>();
         this.author = author;
@@ -76,19 +111,57 @@ public class Post {
         this.dislikes = dislikes;
     }
 
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
     public List<String> getTags() {
+        return parseTags(tags);
+    }
+
+    public static List<String> parseTags(String tags) {
         return tags != null ? Arrays.asList(tags.split(",")) : List.of();
     }
 
     public void setTags(List<String> tags) {
         if (tags == null) {
             this.tags = "";
+            syncPostTags(List.of());
             return;
         }
         if (tags.size() > 3) {
             throw new FormatException("A post can have a maximum of 3 tags");
         }
         this.tags = String.join(",", tags);
+        syncPostTags(tags);
+    }
+
+    public Set<PostTag> getPostTags() {
+        return postTags;
+    }
+
+    public void setPostTags(Set<PostTag> postTags) {
+        this.postTags = postTags;
     }
 
     public Set<Comment> getComments() {
@@ -106,4 +179,16 @@ public class Post {
     public void setAuthor(Profile author) {
         this.author = author;
     }
+
+    // Keeps unchanged post_tag rows in place so only added/removed tags produce statements
+    private void syncPostTags(List<String> tags) {
+        Set<String> normalizedTags = tags.stream()
+            .map(PostTag::normalize)
+            .filter(tag -> !tag.isEmpty())
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        postTags.removeIf(postTag -> !normalizedTags.contains(postTag.getTag()));
+        postTags.forEach(postTag -> normalizedTags.remove(postTag.getTag()));
+        normalizedTags.forEach(tag -> postTags.add(new PostTag(this, tag)));
+    }
 }
@@ -3,10 +3,16 @@ package com.majwic.model;
 import jakarta.persistence.*;
 
 @Entity
+@Table(
+    name = "post_reaction",
+    uniqueConstraints = @UniqueConstraint(name = "uk_post_reaction_profile_post", columnNames = {"profile_id", "post_id"}),
+    indexes = @Index(name = "idx_post_reaction_post_like", columnList = "post_id, is_like")
+)
 public class PostReaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_reaction_seq")
+    @SequenceGenerator(name = "post_reaction_seq", sequenceName = "post_reaction_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,106 @@
+package com.majwic.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.Locale;
+
+@Entity
+@Table(
+    name = "post_tag",
+    uniqueConstraints = @UniqueConstraint(name = "uk_post_tag_post_tag", columnNames = {"post_id", "tag"}),
+    indexes = {
+        @Index(name = "idx_post_tag_tag_likes", columnList = "tag, likes DESC, post_id DESC"),
+        @Index(name = "idx_post_tag_tag_created_at", columnList = "tag, created_at DESC, post_id DESC"),
+        @Index(name = "idx_post_tag_tag_comment_count", columnList = "tag, comment_count DESC, post_id DESC")
+    }
+)
+public class PostTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_tag_seq")
+    @SequenceGenerator(name = "post_tag_seq", sequenceName = "post_tag_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "post_id")
+    private Post post;
+
+    private String tag;
+
+    // Copies of post.likes, post.commentCount and post.createdAt so a tag feed can be read in order straight
+    // from the index
+    @Column(updatable = false)
+    private long likes;
+
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    private long commentCount;
+
+    @Column(name = "created_at", updatable = false)
+    private Instant createdAt;
+
+    public PostTag() {}
+
+    public PostTag(Post post, String tag) {
+        this.post = post;
+        this.tag = tag;
+        this.likes = post.getLikes();
+        this.commentCount = post.getCommentCount();
+        this.createdAt = post.getCreatedAt();
+    }
+
+    public static String normalize(String tag) {
+        return tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Post getPost() {
+        return post;
+    }
+
+    public void setPost(Post post) {
+        this.post = post;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public void setLikes(long likes) {
+        this.likes = likes;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
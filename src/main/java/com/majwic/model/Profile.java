@@ -1,15 +1,17 @@
 package com.majwic.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.List;
 
 @Entity
-@Table(name = "profile")
+@Table(name = "profile", indexes = @Index(name = "idx_profile_deleted", columnList = "deleted"))
 public class Profile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "profile_seq")
+    @SequenceGenerator(name = "profile_seq", sequenceName = "profile_seq", allocationSize = 50)
     private Long id;
 
     private String email;
@@ -18,6 +20,11 @@ public class Profile {
 
     private String password;
 
+    // A deleted profile can't sign in; the row goes once its posts and comments have been purged
+    @ColumnDefault("false")
+    @Column(nullable = false, updatable = false)
+    private boolean deleted;
+
     @ManyToMany
     @JoinTable(
             name = "user_roles",
@@ -68,6 +75,14 @@ public class Profile {
         this.password = password;
     }
 
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+
     public List<Role> getRoles() {
         return roles;
     }
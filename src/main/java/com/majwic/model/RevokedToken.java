@@ -0,0 +1,73 @@
+package com.majwic.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(
+    name = "revoked_token",
+    uniqueConstraints = @UniqueConstraint(name = "uk_revoked_token_token_id", columnNames = "token_id"),
+    indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_token_revoked_at", columnList = "revoked_at")
+    }
+)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_id", nullable = false, length = 36)
+    private String tokenId;
+
+    // Rows are purged once the JWT itself would have expired
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Drives the incremental sync between instances; rows from before the column existed are read by full rebuilds
+    @Column(name = "revoked_at", updatable = false)
+    private Instant revokedAt;
+
+    public RevokedToken() {}
+
+    public RevokedToken(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+        this.revokedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(Instant revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.majwic.projection;
+
+import com.majwic.model.Comment;
+import com.majwic.util.ReactionDelta;
+
+public record CommentView(
+    Long id,
+    String content,
+    long likes,
+    long dislikes,
+    long replyCount,
+    Long postId,
+    Long authorId,
+    Long parentCommentId
+) {
+
+    public static CommentView of(Comment comment) {
+        return new CommentView(
+            comment.getId(),
+            comment.getContent(),
+            comment.getLikes(),
+            comment.getDislikes(),
+            comment.getReplyCount(),
+            comment.getPost() != null ? comment.getPost().getId() : null,
+            comment.getAuthor() != null ? comment.getAuthor().getId() : null,
+            comment.getParentComment() != null ? comment.getParentComment().getId() : null
+        );
+    }
+
+    public CommentView withDelta(ReactionDelta delta) {
+        if (delta.isEmpty()) {
+            return this;
+        }
+        return new CommentView(id, content, likes + delta.likes(), dislikes + delta.dislikes(), replyCount,
+            postId, authorId, parentCommentId);
+    }
+}
@@ -0,0 +1,10 @@
+package com.majwic.projection;
+
+// How far a row's stored counters are from the rows they count, both read in one snapshot. Applied as a delta,
+// so increments committed after the snapshot are kept. The single-counter form leaves secondDrift at zero
+public record CounterDrift(Long id, long drift, long secondDrift) {
+
+    public CounterDrift(Long id, long drift) {
+        this(id, drift, 0);
+    }
+}
@@ -0,0 +1,6 @@
+package com.majwic.projection;
+
+import java.time.Instant;
+
+// Just the columns a hot ranking is computed from, read in bulk when the rankings are rebuilt
+public record PostScore(Long id, long likes, long dislikes, Instant createdAt, String tags) {}
@@ -0,0 +1,46 @@
+package com.majwic.projection;
+
+import com.majwic.model.Post;
+import com.majwic.util.ReactionDelta;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PostView(
+    Long id,
+    String content,
+    long likes,
+    long dislikes,
+    long commentCount,
+    List<String> tags,
+    Long authorId,
+    Instant createdAt
+) {
+
+    // Constructor expression target; the tags column is stored comma-separated
+    public PostView(Long id, String content, long likes, long dislikes, long commentCount, String tags,
+        Long authorId, Instant createdAt) {
+        this(id, content, likes, dislikes, commentCount, Post.parseTags(tags), authorId, createdAt);
+    }
+
+    public static PostView of(Post post) {
+        return new PostView(
+            post.getId(),
+            post.getContent(),
+            post.getLikes(),
+            post.getDislikes(),
+            post.getCommentCount(),
+            post.getTags(),
+            post.getAuthor() != null ? post.getAuthor().getId() : null,
+            post.getCreatedAt()
+        );
+    }
+
+    public PostView withDelta(ReactionDelta delta) {
+        if (delta.isEmpty()) {
+            return this;
+        }
+        return new PostView(id, content, likes + delta.likes(), dislikes + delta.dislikes(), commentCount, tags,
+            authorId, createdAt);
+    }
+}
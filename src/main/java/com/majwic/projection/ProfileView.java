@@ -0,0 +1,31 @@
+package com.majwic.projection;
+
+import com.majwic.model.Profile;
+
+import java.util.List;
+
+public record ProfileView(
+    Long id,
+    String displayName,
+    String email,
+    List<RoleView> roles
+) {
+
+    // Constructor expression target; roles are a separate query, run only when they are rendered
+    public ProfileView(Long id, String displayName, String email) {
+        this(id, displayName, email, List.of());
+    }
+
+    public static ProfileView of(Profile profile) {
+        return new ProfileView(
+            profile.getId(),
+            profile.getDisplayName(),
+            profile.getEmail(),
+            profile.getRoles() != null ? profile.getRoles().stream().map(RoleView::of).toList() : List.of()
+        );
+    }
+
+    public ProfileView withRoles(List<RoleView> roles) {
+        return new ProfileView(id, displayName, email, roles);
+    }
+}
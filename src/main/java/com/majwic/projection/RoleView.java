@@ -0,0 +1,10 @@
+package com.majwic.projection;
+
+import com.majwic.model.Role;
+
+public record RoleView(Long id, String name) {
+
+    public static RoleView of(Role role) {
+        return new RoleView(role.getId(), role.getName());
+    }
+}
@@ -1,9 +1,12 @@
 package com.majwic.repository;
 
 import com.majwic.model.CommentReaction;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +15,18 @@ public interface CommentReactionRepository extends JpaRepository<CommentReaction
 
     List<CommentReaction> findByCommentId(Long commentId);
 
-    @Cacheable(value = "commentLikesCountCache")
-    long countByCommentIdAndIsLikeTrue(Long commentId);
+    List<CommentReaction> findByProfileIdAndCommentIdIn(Long profileId, Collection<Long> commentIds);
 
-    @Cacheable(value = "commentDislikesCountCache")
-    long countByCommentIdAndIsLikeFalse(Long commentId);
+    @Modifying
+    @Query("DELETE FROM CommentReaction r WHERE r.comment.id IN :commentIds")
+    int bulkDeleteByCommentIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM CommentReaction r WHERE r.comment.id IN " +
+            "(SELECT c.id FROM Comment c WHERE c.post.id IN :postIds)")
+    int bulkDeleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM CommentReaction r WHERE r.profile.id = :profileId")
+    int bulkDeleteByProfileId(@Param("profileId") Long profileId);
 }
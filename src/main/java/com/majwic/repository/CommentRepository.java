@@ -1,18 +1,116 @@
 package com.majwic.repository;
 
 import com.majwic.model.Comment;
-import org.springframework.data.domain.Page;
+import com.majwic.projection.CommentView;
+import com.majwic.projection.CounterDrift;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface CommentRepository extends JpaRepository<Comment, Long> {
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-    @Query("SELECT c FROM Comment c WHERE c.post.id = :postId AND " +
-            "(c.parentComment.id = :parentCommentId OR (:parentCommentId IS NULL AND c.parentComment IS NULL))")
-    Page<Comment> findByPostIdAndParentCommentId(
-        @Param("postId") Long postId,
-        @Param("parentCommentId") Long parentCommentId,
-        Pageable pageable);
+public interface CommentRepository extends JpaRepository<Comment, Long>, CommentThreadRepository {
+
+    @Query("SELECT COALESCE(MAX(c.id), 0) FROM Comment c")
+    long findMaxId();
+
+    Optional<Comment> findByIdAndDeletedFalse(Long id);
+
+    @Query("SELECT new com.majwic.projection.CommentView(c.id, c.content, c.likes, c.dislikes, c.replyCount, " +
+            "c.post.id, c.author.id, c.parentComment.id) FROM Comment c WHERE c.id = :commentId AND c.deleted = false")
+    Optional<CommentView> findViewById(@Param("commentId") Long commentId);
+
+    long countByDeletedTrue();
+
+    boolean existsByDeletedTrue();
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.likes = c.likes + :likesDelta, c.dislikes = c.dislikes + :dislikesDelta " +
+            "WHERE c.id = :commentId")
+    int adjustReactionCounts(
+        @Param("commentId") Long commentId,
+        @Param("likesDelta") long likesDelta,
+        @Param("dislikesDelta") long dislikesDelta);
+
+    @Query("SELECT new com.majwic.projection.CounterDrift(c.id, " +
+            "(SELECT COUNT(r) FROM CommentReaction r WHERE r.comment.id = c.id AND r.isLike = true) - c.likes, " +
+            "(SELECT COUNT(r) FROM CommentReaction r WHERE r.comment.id = c.id AND r.isLike = false) - c.dislikes) " +
+            "FROM Comment c WHERE c.id > :fromId AND c.id <= :toId AND (" +
+            "c.likes <> (SELECT COUNT(r) FROM CommentReaction r WHERE r.comment.id = c.id AND r.isLike = true) OR " +
+            "c.dislikes <> (SELECT COUNT(r) FROM CommentReaction r WHERE r.comment.id = c.id AND r.isLike = false))")
+    List<CounterDrift> findReactionCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id = :commentId")
+    int adjustReplyCount(@Param("commentId") Long commentId, @Param("delta") long delta);
+
+    @Query("SELECT new com.majwic.projection.CounterDrift(c.id, (SELECT COUNT(r) FROM Comment r " +
+            "WHERE r.post.id = c.post.id AND r.parentComment.id = c.id AND r.deleted = false) - c.replyCount) " +
+            "FROM Comment c WHERE c.id > :fromId AND c.id <= :toId AND " +
+            "c.replyCount <> (SELECT COUNT(r) FROM Comment r " +
+            "WHERE r.post.id = c.post.id AND r.parentComment.id = c.id AND r.deleted = false)")
+    List<CounterDrift> findReplyCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Takes the given replies off their parents' counts; like the post counts it must run before they are flagged
+    @Modifying
+    @Query("UPDATE Comment p SET p.replyCount = p.replyCount - (SELECT COUNT(c) FROM Comment c " +
+            "WHERE c.parentComment.id = p.id AND c.id IN :commentIds AND c.deleted = false) " +
+            "WHERE p.id IN (SELECT c.parentComment.id FROM Comment c WHERE c.id IN :commentIds AND c.deleted = false)")
+    int retractFromReplyCounts(@Param("commentIds") Collection<Long> commentIds);
+
+    @Query("SELECT c.author.id FROM Comment c WHERE c.id = :commentId AND c.deleted = false")
+    Optional<Long> findAuthorIdById(@Param("commentId") Long commentId);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.author.id = :authorId AND c.deleted = false")
+    List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.parentComment.id IN :parentIds")
+    List<Long> findIdsByParentIds(@Param("parentIds") Collection<Long> parentIds);
+
+    @Query("SELECT DISTINCT c.post.id FROM Comment c WHERE c.id IN :commentIds")
+    List<Long> findPostIdsByIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Query("SELECT DISTINCT c.parentComment.id FROM Comment c " +
+            "WHERE c.id IN :commentIds AND c.parentComment IS NOT NULL")
+    List<Long> findParentIdsByIds(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.deleted = true WHERE c.id IN :commentIds")
+    int markDeleted(@Param("commentIds") Collection<Long> commentIds);
+
+    // Leaves only, so a batch never removes a comment that still has replies; replies share their parent's post
+    @Query("SELECT c.id FROM Comment c WHERE c.deleted = true AND NOT EXISTS (SELECT r FROM Comment r " +
+            "WHERE r.post.id = c.post.id AND r.parentComment.id = c.id) ORDER BY c.id DESC")
+    List<Long> findPurgeableIds(Pageable pageable);
+
+    @Query("SELECT c.id FROM Comment c WHERE c.post.id IN (SELECT p.id FROM Post p WHERE p.deleted = true) AND " +
+            "NOT EXISTS (SELECT r FROM Comment r WHERE r.post.id = c.post.id AND r.parentComment.id = c.id) " +
+            "ORDER BY c.id DESC")
+    List<Long> findPurgeableIdsOnDeletedPosts(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.id IN :commentIds")
+    int bulkDeleteByIds(@Param("commentIds") Collection<Long> commentIds);
+
+    // Replies point at comments of the same post; unlinking them first lets one statement remove the whole set
+    @Modifying
+    @Query("UPDATE Comment c SET c.parentComment = null WHERE c.post.id IN :postIds")
+    int detachRepliesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.post.id IN :postIds")
+    int bulkDeleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("UPDATE Comment c SET " +
+            "c.likes = c.likes - (SELECT COUNT(r) FROM CommentReaction r " +
+            "WHERE r.comment.id = c.id AND r.profile.id = :profileId AND r.isLike = true), " +
+            "c.dislikes = c.dislikes - (SELECT COUNT(r) FROM CommentReaction r " +
+            "WHERE r.comment.id = c.id AND r.profile.id = :profileId AND r.isLike = false) " +
+            "WHERE c.id IN (SELECT r.comment.id FROM CommentReaction r WHERE r.profile.id = :profileId)")
+    int retractReactionsOf(@Param("profileId") Long profileId);
 }
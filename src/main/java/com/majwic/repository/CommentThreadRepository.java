@@ -0,0 +1,14 @@
+package com.majwic.repository;
+
+import com.majwic.projection.CommentView;
+import com.majwic.util.Cursor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public interface CommentThreadRepository {
+
+    Slice<CommentView> findThread(Long postId, Long parentCommentId, ThreadSort sort, Cursor after, int limit);
+
+    List<CommentView> findTree(Long postId, Long parentCommentId, int depth, int fanOut);
+}
@@ -0,0 +1,89 @@
+package com.majwic.repository;
+
+import com.majwic.projection.CommentView;
+import com.majwic.util.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+public class CommentThreadRepositoryImpl implements CommentThreadRepository {
+
+    private static final String ID_PATH = "c.id";
+
+    // Walks down from the parent a level at a time; each node's replies are one limited read of
+    // idx_comment_thread_likes, so a reply-heavy branch costs fanOut rows rather than all of its replies.
+    // Rows come back parents before children
+    private static final String TREE_SQL =
+        "WITH RECURSIVE tree (id, tree_depth) AS (" +
+        "SELECT c.id, 1 FROM comment c WHERE c.id = ANY(ARRAY(" +
+        "SELECT r.id FROM comment r WHERE r.post_id = :postId AND %s AND r.deleted = false " +
+        "ORDER BY r.likes DESC, r.id DESC LIMIT :fanOut)) " +
+        "UNION ALL " +
+        "SELECT c.id, t.tree_depth + 1 FROM tree t JOIN comment c ON c.id = ANY(ARRAY(" +
+        "SELECT r.id FROM comment r WHERE r.post_id = :postId AND r.parent_comment_id = t.id AND r.deleted = false " +
+        "ORDER BY r.likes DESC, r.id DESC LIMIT :fanOut)) " +
+        "WHERE t.tree_depth < :depth" +
+        ") SELECT c.id, c.content, c.likes, c.dislikes, c.reply_count, c.post_id, c.profile_id, c.parent_comment_id " +
+        "FROM tree t JOIN comment c ON c.id = t.id ORDER BY t.tree_depth, c.likes DESC, c.id DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Root and reply threads use separate equality predicates so both stay on the sort's idx_comment_thread_* index
+    @Override
+    public Slice<CommentView> findThread(Long postId, Long parentCommentId, ThreadSort sort, Cursor after, int limit) {
+        String jpql = "SELECT new com.majwic.projection.CommentView(c.id, c.content, c.likes, c.dislikes, " +
+            "c.replyCount, c.post.id, c.author.id, c.parentComment.id) " +
+            "FROM Comment c WHERE c.post.id = :postId AND c.deleted = false AND " +
+            (parentCommentId == null ? "c.parentComment IS NULL" : "c.parentComment.id = :parentCommentId") +
+            (after == null ? "" : " AND " + KeysetQuery.afterPredicate(sort.path(), ID_PATH, false)) +
+            KeysetQuery.orderBy(sort.path(), ID_PATH, false);
+
+        TypedQuery<CommentView> query = entityManager.createQuery(jpql, CommentView.class)
+            .setParameter("postId", postId);
+        if (parentCommentId != null) {
+            query.setParameter("parentCommentId", parentCommentId);
+        }
+        if (after != null) {
+            KeysetQuery.bindAfter(query, sort.path(), ID_PATH, after.sortKey(), after);
+        }
+
+        return KeysetQuery.fetchSlice(query, limit);
+    }
+
+    @Override
+    public List<CommentView> findTree(Long postId, Long parentCommentId, int depth, int fanOut) {
+        Query query = entityManager.createNativeQuery(TREE_SQL.formatted(
+                parentCommentId == null ? "r.parent_comment_id IS NULL" : "r.parent_comment_id = :parentCommentId"))
+            .setParameter("postId", postId)
+            .setParameter("depth", depth)
+            .setParameter("fanOut", fanOut);
+        if (parentCommentId != null) {
+            query.setParameter("parentCommentId", parentCommentId);
+        }
+        List<?> rows = query.getResultList();
+
+        return rows.stream()
+            .map(row -> (Object[]) row)
+            .map(row -> new CommentView(
+                toLong(row[0]),
+                (String) row[1],
+                toLong(row[2]),
+                toLong(row[3]),
+                toLong(row[4]),
+                toLong(row[5]),
+                toLong(row[6]),
+                toLong(row[7])))
+            .toList();
+    }
+
+    // === Private Helper Methods === //
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+}
@@ -0,0 +1,59 @@
+package com.majwic.repository;
+
+import com.majwic.projection.PostView;
+import com.majwic.util.FieldName;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.function.ToLongFunction;
+
+public enum FeedSort {
+    LIKES(FieldName.LIKES, "p.likes", "t.likes", PostView::likes),
+    ID(FieldName.ID, "p.id", "t.post.id", PostView::id),
+    // Cursors carry createdAt as epoch microseconds
+    NEW("new", "p.createdAt", "t.createdAt", post -> ChronoUnit.MICROS.between(Instant.EPOCH, post.createdAt())) {
+        @Override
+        Object sortParameter(long sortKey) {
+            return Instant.EPOCH.plus(sortKey, ChronoUnit.MICROS);
+        }
+    },
+    COMMENTS(FieldName.COMMENTS, "p.commentCount", "t.commentCount", PostView::commentCount);
+
+    private final String fieldName;
+    private final String postPath;
+    private final String tagPath;
+    private final ToLongFunction<PostView> sortKey;
+
+    FeedSort(String fieldName, String postPath, String tagPath, ToLongFunction<PostView> sortKey) {
+        this.fieldName = fieldName;
+        this.postPath = postPath;
+        this.tagPath = tagPath;
+        this.sortKey = sortKey;
+    }
+
+    public static FeedSort fromFieldName(String fieldName) {
+        for (FeedSort sort : values()) {
+            if (sort.fieldName.equals(fieldName)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+
+    public long sortKey(PostView post) {
+        return sortKey.applyAsLong(post);
+    }
+
+    String postPath() {
+        return postPath;
+    }
+
+    // post_tag keeps its own copies of the sort columns so tag feeds stay on idx_post_tag_*
+    String tagPath() {
+        return tagPath;
+    }
+
+    Object sortParameter(long sortKey) {
+        return sortKey;
+    }
+}
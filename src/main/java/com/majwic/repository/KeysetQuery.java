@@ -0,0 +1,46 @@
+package com.majwic.repository;
+
+import com.majwic.util.Cursor;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+// Builds "seek" predicates so every page is an index range read instead of an OFFSET scan
+final class KeysetQuery {
+
+    private KeysetQuery() {}
+
+    static String afterPredicate(String sortPath, String idPath, boolean ascending) {
+        String op = ascending ? " > " : " < ";
+        if (sortPath.equals(idPath)) {
+            return idPath + op + ":afterId";
+        }
+        return "(" + sortPath + op + ":afterSortKey OR (" + sortPath + " = :afterSortKey AND " + idPath + op +
+            ":afterId))";
+    }
+
+    static String orderBy(String sortPath, String idPath, boolean ascending) {
+        String direction = ascending ? " ASC" : " DESC";
+        if (sortPath.equals(idPath)) {
+            return " ORDER BY " + idPath + direction;
+        }
+        return " ORDER BY " + sortPath + direction + ", " + idPath + direction;
+    }
+
+    static void bindAfter(TypedQuery<?> query, String sortPath, String idPath, Object sortKey, Cursor after) {
+        query.setParameter("afterId", after.id());
+        if (!sortPath.equals(idPath)) {
+            query.setParameter("afterSortKey", sortKey);
+        }
+    }
+
+    // Fetches one extra row to learn whether another page exists without running a COUNT
+    static <T> Slice<T> fetchSlice(TypedQuery<T> query, int limit) {
+        List<T> rows = query.setMaxResults(limit + 1).getResultList();
+        boolean hasNext = rows.size() > limit;
+        return new SliceImpl<>(hasNext ? rows.subList(0, limit) : rows, PageRequest.ofSize(limit), hasNext);
+    }
+}
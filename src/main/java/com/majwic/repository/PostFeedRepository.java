@@ -0,0 +1,10 @@
+package com.majwic.repository;
+
+import com.majwic.projection.PostView;
+import com.majwic.util.Cursor;
+import org.springframework.data.domain.Slice;
+
+public interface PostFeedRepository {
+
+    Slice<PostView> findFeed(String tag, FeedSort sort, boolean ascending, Cursor after, int limit);
+}
@@ -0,0 +1,61 @@
+package com.majwic.repository;
+
+import com.majwic.projection.PostView;
+import com.majwic.util.Cursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Slice;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PostFeedRepositoryImpl implements PostFeedRepository {
+
+    // Only the rendered columns, with the author id read straight off the foreign key
+    private static final String POST_VIEW_SELECT = viewSelect("p.likes", "p.commentCount", "p.createdAt");
+
+    // A tag feed renders post_tag's copies of the sort columns, so the cursor taken from a page's last row holds
+    // the very values the page was ordered by
+    private static final String TAG_VIEW_SELECT = viewSelect("t.likes", "t.commentCount", "t.createdAt");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<PostView> findFeed(String tag, FeedSort sort, boolean ascending, Cursor after, int limit) {
+        boolean tagged = tag != null;
+        String sortPath = tagged ? sort.tagPath() : sort.postPath();
+        String idPath = tagged ? "t.post.id" : "p.id";
+
+        List<String> conditions = new ArrayList<>();
+        if (tagged) {
+            conditions.add("t.tag = :tag");
+        }
+        conditions.add("p.deleted = false");
+        if (after != null) {
+            conditions.add(KeysetQuery.afterPredicate(sortPath, idPath, ascending));
+        }
+
+        String jpql = (tagged ? TAG_VIEW_SELECT + " FROM PostTag t JOIN t.post p" : POST_VIEW_SELECT + " FROM Post p") +
+            " WHERE " + String.join(" AND ", conditions) +
+            KeysetQuery.orderBy(sortPath, idPath, ascending);
+
+        TypedQuery<PostView> query = entityManager.createQuery(jpql, PostView.class);
+        if (tagged) {
+            query.setParameter("tag", tag);
+        }
+        if (after != null) {
+            KeysetQuery.bindAfter(query, sortPath, idPath, sort.sortParameter(after.sortKey()), after);
+        }
+
+        return KeysetQuery.fetchSlice(query, limit);
+    }
+
+    // === Private Helper Methods === //
+
+    private static String viewSelect(String likesPath, String commentCountPath, String createdAtPath) {
+        return "SELECT new com.majwic.projection.PostView(p.id, p.content, " + likesPath + ", p.dislikes, " +
+            commentCountPath + ", p.tags, p.author.id, " + createdAtPath + ")";
+    }
+}
@@ -1,9 +1,12 @@
 package com.majwic.repository;
 
 import com.majwic.model.PostReaction;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +15,13 @@ public interface PostReactionRepository extends JpaRepository<PostReaction, Long
 
     List<PostReaction> findByPostId(Long postId);
 
-    @Cacheable(value = "postLikesCountCache")
-    long countByPostIdAndIsLikeTrue(Long postId);
+    List<PostReaction> findByProfileIdAndPostIdIn(Long profileId, Collection<Long> postIds);
 
-    @Cacheable(value = "postDislikesCountCache")
-    long countByPostIdAndIsLikeFalse(Long postId);
+    @Modifying
+    @Query("DELETE FROM PostReaction r WHERE r.post.id IN :postIds")
+    int bulkDeleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("DELETE FROM PostReaction r WHERE r.profile.id = :profileId")
+    int bulkDeleteByProfileId(@Param("profileId") Long profileId);
 }
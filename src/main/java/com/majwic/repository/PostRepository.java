@@ -1,14 +1,112 @@
 package com.majwic.repository;
 
 import com.majwic.model.Post;
-import org.springframework.data.domain.Page;
+import com.majwic.projection.CounterDrift;
+import com.majwic.projection.PostScore;
+import com.majwic.projection.PostView;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-public interface PostRepository extends JpaRepository<Post, Long> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
-    @Query("SELECT p FROM Post p WHERE p.tags LIKE %:tag%")
-    Page<Post> findByTagContaining(@Param("tag") String tag, Pageable pageable);
+public interface PostRepository extends JpaRepository<Post, Long>, PostFeedRepository {
+
+    @Query("SELECT p FROM Post p WHERE p.tags <> '' AND p.id > :afterId AND " +
+            "NOT EXISTS (SELECT t FROM PostTag t WHERE t.post = p) ORDER BY p.id")
+    List<Post> findWithUnmigratedTags(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Post p")
+    long findMaxId();
+
+    Optional<Post> findByIdAndDeletedFalse(Long id);
+
+    @Query("SELECT new com.majwic.projection.PostView(p.id, p.content, p.likes, p.dislikes, p.commentCount, " +
+            "p.tags, p.author.id, p.createdAt) FROM Post p WHERE p.id = :postId AND p.deleted = false")
+    Optional<PostView> findViewById(@Param("postId") Long postId);
+
+    @Query("SELECT new com.majwic.projection.PostView(p.id, p.content, p.likes, p.dislikes, p.commentCount, " +
+            "p.tags, p.author.id, p.createdAt) FROM Post p WHERE p.id IN :postIds AND p.deleted = false")
+    List<PostView> findViewsByIdIn(@Param("postIds") Collection<Long> postIds);
+
+    long countByDeletedTrue();
+
+    boolean existsByDeletedTrue();
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likes = p.likes + :likesDelta, p.dislikes = p.dislikes + :dislikesDelta " +
+            "WHERE p.id = :postId")
+    int adjustReactionCounts(
+        @Param("postId") Long postId,
+        @Param("likesDelta") long likesDelta,
+        @Param("dislikesDelta") long dislikesDelta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Query("SELECT new com.majwic.projection.CounterDrift(p.id, " +
+            "(SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.deleted = false) - p.commentCount) " +
+            "FROM Post p WHERE p.id > :fromId AND p.id <= :toId AND " +
+            "p.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.post.id = p.id AND c.deleted = false)")
+    List<CounterDrift> findCommentCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Counts only comments not yet flagged, so it has to run before they are
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount - (SELECT COUNT(c) FROM Comment c " +
+            "WHERE c.post.id = p.id AND c.id IN :commentIds AND c.deleted = false) " +
+            "WHERE p.id IN (SELECT c.post.id FROM Comment c WHERE c.id IN :commentIds AND c.deleted = false)")
+    int retractCommentCounts(@Param("commentIds") Collection<Long> commentIds);
+
+    @Query("SELECT new com.majwic.projection.CounterDrift(p.id, " +
+            "(SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.isLike = true) - p.likes, " +
+            "(SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.isLike = false) - p.dislikes) " +
+            "FROM Post p WHERE p.id > :fromId AND p.id <= :toId AND (" +
+            "p.likes <> (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.isLike = true) OR " +
+            "p.dislikes <> (SELECT COUNT(r) FROM PostReaction r WHERE r.post.id = p.id AND r.isLike = false))")
+    List<CounterDrift> findReactionCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Keyset walk over idx_post_created_at, oldest first
+    @Query("SELECT new com.majwic.projection.PostScore(p.id, p.likes, p.dislikes, p.createdAt, p.tags) " +
+            "FROM Post p WHERE p.deleted = false AND " +
+            "(p.createdAt > :afterCreatedAt OR (p.createdAt = :afterCreatedAt AND p.id > :afterId)) " +
+            "ORDER BY p.createdAt, p.id")
+    List<PostScore> findScoresCreatedAfter(
+        @Param("afterCreatedAt") Instant afterCreatedAt,
+        @Param("afterId") long afterId,
+        Pageable pageable);
+
+    @Query("SELECT p.author.id FROM Post p WHERE p.id = :postId AND p.deleted = false")
+    Optional<Long> findAuthorIdById(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.deleted = true WHERE p.id IN :postIds")
+    int markDeleted(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.deleted = true WHERE p.author.id = :authorId AND p.deleted = false")
+    int markDeletedByAuthorId(@Param("authorId") Long authorId);
+
+    // Deleted posts whose comments have all been purged
+    @Query("SELECT p.id FROM Post p WHERE p.deleted = true AND " +
+            "NOT EXISTS (SELECT c FROM Comment c WHERE c.post.id = p.id) ORDER BY p.id")
+    List<Long> findPurgeableIds(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.id IN :postIds")
+    int bulkDeleteByIds(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.likes = p.likes - (SELECT COUNT(r) FROM PostReaction r " +
+            "WHERE r.post.id = p.id AND r.profile.id = :profileId AND r.isLike = true), " +
+            "p.dislikes = p.dislikes - (SELECT COUNT(r) FROM PostReaction r " +
+            "WHERE r.post.id = p.id AND r.profile.id = :profileId AND r.isLike = false) " +
+            "WHERE p.id IN (SELECT r.post.id FROM PostReaction r WHERE r.profile.id = :profileId)")
+    int retractReactionsOf(@Param("profileId") Long profileId);
 }
@@ -0,0 +1,56 @@
+package com.majwic.repository;
+
+import com.majwic.model.PostTag;
+import com.majwic.projection.CounterDrift;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostTagRepository extends JpaRepository<PostTag, Long> {
+
+    @Modifying
+    @Query("UPDATE PostTag t SET t.likes = t.likes + :likesDelta WHERE t.post.id = :postId")
+    int adjustLikes(@Param("postId") Long postId, @Param("likesDelta") long likesDelta);
+
+    // Keyed by post_tag row, since each tag of a post can have drifted by a different amount
+    @Query("SELECT new com.majwic.projection.CounterDrift(t.id, t.post.likes - t.likes) FROM PostTag t " +
+            "WHERE t.post.id > :fromId AND t.post.id <= :toId AND t.likes <> t.post.likes")
+    List<CounterDrift> findLikesDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query("UPDATE PostTag t SET t.likes = t.likes + :likesDelta WHERE t.id = :id")
+    int adjustLikesById(@Param("id") Long id, @Param("likesDelta") long likesDelta);
+
+    @Modifying
+    @Query("UPDATE PostTag t SET t.commentCount = t.commentCount + :delta WHERE t.post.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Query("SELECT new com.majwic.projection.CounterDrift(t.id, t.post.commentCount - t.commentCount) " +
+            "FROM PostTag t WHERE t.post.id > :fromId AND t.post.id <= :toId AND t.commentCount <> t.post.commentCount")
+    List<CounterDrift> findCommentCountDrift(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query("UPDATE PostTag t SET t.commentCount = t.commentCount + :delta WHERE t.id = :id")
+    int adjustCommentCountById(@Param("id") Long id, @Param("delta") long delta);
+
+    // Counts only comments not yet flagged, so it has to run before they are
+    @Modifying
+    @Query("UPDATE PostTag t SET t.commentCount = t.commentCount - (SELECT COUNT(c) FROM Comment c " +
+            "WHERE c.post.id = t.post.id AND c.id IN :commentIds AND c.deleted = false) " +
+            "WHERE t.post.id IN (SELECT c.post.id FROM Comment c WHERE c.id IN :commentIds AND c.deleted = false)")
+    int retractCommentCounts(@Param("commentIds") Collection<Long> commentIds);
+
+    @Modifying
+    @Query("DELETE FROM PostTag t WHERE t.post.id IN :postIds")
+    int bulkDeleteByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // A profile has at most one reaction per post, so each liked post loses exactly one like
+    @Modifying
+    @Query("UPDATE PostTag t SET t.likes = t.likes - 1 WHERE t.post.id IN " +
+            "(SELECT r.post.id FROM PostReaction r WHERE r.profile.id = :profileId AND r.isLike = true)")
+    int retractLikesOf(@Param("profileId") Long profileId);
+}
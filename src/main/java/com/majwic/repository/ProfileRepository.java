@@ -1,11 +1,43 @@
 package com.majwic.repository;
 
 import com.majwic.model.Profile;
+import com.majwic.projection.ProfileView;
+import com.majwic.projection.RoleView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
     boolean existsByEmail(String email);
-    Optional<Profile> findByEmail(String email);
+    Optional<Profile> findByEmailAndDeletedFalse(String email);
+    Optional<Profile> findByIdAndDeletedFalse(Long id);
+    long countByDeletedTrue();
+
+    boolean existsByDeletedTrue();
+
+    @Query("SELECT new com.majwic.projection.ProfileView(p.id, p.displayName, p.email) FROM Profile p " +
+            "WHERE p.id = :profileId AND p.deleted = false")
+    Optional<ProfileView> findViewById(@Param("profileId") Long profileId);
+
+    @Query("SELECT p.password FROM Profile p WHERE p.id = :profileId AND p.deleted = false")
+    Optional<String> findPasswordById(@Param("profileId") Long profileId);
+
+    @Query("SELECT new com.majwic.projection.RoleView(r.id, r.name) FROM Profile p JOIN p.roles r " +
+            "WHERE p.id = :profileId")
+    List<RoleView> findRoleViewsByProfileId(@Param("profileId") Long profileId);
+
+    @Modifying
+    @Query("UPDATE Profile p SET p.deleted = true WHERE p.id = :profileId")
+    int markDeleted(@Param("profileId") Long profileId);
+
+    // Deleted profiles whose posts and comments have all been purged
+    @Query("SELECT pr.id FROM Profile pr WHERE pr.deleted = true AND " +
+            "NOT EXISTS (SELECT p FROM Post p WHERE p.author.id = pr.id) AND " +
+            "NOT EXISTS (SELECT c FROM Comment c WHERE c.author.id = pr.id) ORDER BY pr.id")
+    List<Long> findPurgeableIds(Pageable pageable);
 }
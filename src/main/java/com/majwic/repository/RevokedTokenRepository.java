@@ -0,0 +1,27 @@
+package com.majwic.repository;
+
+import com.majwic.model.RevokedToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    boolean existsByTokenId(String tokenId);
+
+    @Query("SELECT r.tokenId FROM RevokedToken r")
+    List<String> findAllTokenIds();
+
+    @Query("SELECT r.tokenId FROM RevokedToken r WHERE r.revokedAt > :since")
+    List<String> findTokenIdsRevokedAfter(@Param("since") Instant since);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,39 @@
+package com.majwic.repository;
+
+import com.majwic.projection.CommentView;
+import com.majwic.util.FieldName;
+
+import java.util.function.ToLongFunction;
+
+// Each sort has its own idx_comment_thread_* index behind the (post_id, parent_comment_id) prefix
+public enum ThreadSort {
+    LIKES(FieldName.LIKES, "c.likes", CommentView::likes),
+    REPLIES(FieldName.REPLIES, "c.replyCount", CommentView::replyCount);
+
+    private final String fieldName;
+    private final String path;
+    private final ToLongFunction<CommentView> sortKey;
+
+    ThreadSort(String fieldName, String path, ToLongFunction<CommentView> sortKey) {
+        this.fieldName = fieldName;
+        this.path = path;
+        this.sortKey = sortKey;
+    }
+
+    public static ThreadSort fromFieldName(String fieldName) {
+        for (ThreadSort sort : values()) {
+            if (sort.fieldName.equals(fieldName)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+
+    public long sortKey(CommentView comment) {
+        return sortKey.applyAsLong(comment);
+    }
+
+    String path() {
+        return path;
+    }
+}
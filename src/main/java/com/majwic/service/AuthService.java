@@ -2,6 +2,7 @@ package com.majwic.service;
 
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.Profile;
+import com.majwic.repository.ProfileRepository;
 import com.majwic.util.*;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,19 +10,29 @@ import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 @Service
 public class AuthService {
 
     private final JwtTokenUtil jwtTokenUtil;
     private final ServiceUtil serviceUtil;
+    private final TokenRevocationService tokenRevocationService;
+    private final PasswordHasher passwordHasher;
+    private final ProfileRepository profileRepository;
 
     public AuthService(
         JwtTokenUtil jwtTokenUtil,
-        ServiceUtil serviceUtil
+        ServiceUtil serviceUtil,
+        TokenRevocationService tokenRevocationService,
+        PasswordHasher passwordHasher,
+        ProfileRepository profileRepository
     ) {
         this.jwtTokenUtil = jwtTokenUtil;
         this.serviceUtil = serviceUtil;
+        this.tokenRevocationService = tokenRevocationService;
+        this.passwordHasher = passwordHasher;
+        this.profileRepository = profileRepository;
     }
 
     public String validateSignIn(Map<String, Object> requestBody) {
@@ -35,10 +46,16 @@ public class AuthService {
 
         Profile profile = serviceUtil.getByEmailOrThrow(email);
 
-        if (!PasswordUtil.verifyPassword(password, profile.getPassword())) {
+        if (!passwordHasher.verify(password, profile.getPassword())) {
             throw new UnauthorizedException("Incorrect password");
         }
 
+        // The plain password is only available here, so hashes made with an old cost are upgraded on sign-in
+        if (passwordHasher.needsRehash(profile.getPassword())) {
+            profile.setPassword(passwordHasher.hash(password));
+            profileRepository.save(profile);
+        }
+
         return authenticateUser(profile.getId());
     }
 
@@ -49,6 +66,23 @@ public class AuthService {
         return getUserIdFromToken(token);
     }
 
+    // Anonymous and invalid sessions resolve to empty instead of throwing
+    public Optional<Long> findUserIdFromCookie(HttpServletRequest request) {
+        String token = getTokenFromCookie(request);
+        if (token == null) return Optional.empty();
+
+        return findActiveToken(token)
+            .map(VerifiedToken::subject)
+            .flatMap(AuthService::parseUserId);
+    }
+
+    public void signOut(HttpServletRequest request) {
+        String token = getTokenFromCookie(request);
+        if (token == null) return;
+
+        jwtTokenUtil.verify(token).ifPresent(tokenRevocationService::revoke);
+    }
+
     public void validateProfileExists(Long profileId) {
         serviceUtil.getProfileByIdOrThrow(profileId);
     }
@@ -59,10 +93,25 @@ public class AuthService {
     }
 
     private Long getUserIdFromToken(String token) {
-        String userIdString = jwtTokenUtil.getUserIdFromToken(token);
+        String userIdString = findActiveToken(token)
+            .map(VerifiedToken::subject)
+            .orElseThrow(() -> new UnauthorizedException("Session token is invalid"));
         return Long.parseLong(userIdString);
     }
 
+    private Optional<VerifiedToken> findActiveToken(String token) {
+        return jwtTokenUtil.verify(token)
+            .filter(verified -> !tokenRevocationService.isRevoked(verified.tokenId()));
+    }
+
+    private static Optional<Long> parseUserId(String userIdString) {
+        try {
+            return Optional.of(Long.parseLong(userIdString));
+        } catch (NumberFormatException _) {
+            return Optional.empty();
+        }
+    }
+
     private String getTokenFromCookie(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
 
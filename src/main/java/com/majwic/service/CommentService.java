@@ -1,49 +1,86 @@
 package com.majwic.service;
 
+import com.majwic.configuration.CacheConfig;
+import com.majwic.configuration.ReadOnlyTransactional;
 import com.majwic.exception.FormatException;
+import com.majwic.exception.ResourceNotFoundException;
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.Comment;
 import com.majwic.model.CommentReaction;
 import com.majwic.model.Post;
 import com.majwic.model.Profile;
+import com.majwic.projection.CommentView;
 import com.majwic.repository.CommentReactionRepository;
 import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ThreadSort;
+import com.majwic.service.ReactionWriteBuffer.Target;
+import com.majwic.util.Cursor;
 import com.majwic.util.FieldName;
 import com.majwic.util.JsonBuilder;
+import com.majwic.util.ParallelLookups;
+import com.majwic.util.ReactionDelta;
 import com.majwic.util.ServiceUtil;
 import com.majwic.util.ValidationUtil;
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
 
     private static final int MAX_CONTENT_LENGTH = 1000;
+    private static final int MAX_PAGE_SIZE = 20;
+    private static final int MAX_TREE_DEPTH = 10;
 
     private final CommentRepository commentRepository;
     private final CommentReactionRepository commentReactionRepository;
+    private final PostRepository postRepository;
+    private final PostTagRepository postTagRepository;
 
     private final ServiceUtil serviceUtil;
+    private final ParallelLookups parallelLookups;
+    private final ReactionWriteBuffer reactionWriteBuffer;
+    private final ContentDeletionService contentDeletionService;
 
     public CommentService(
         CommentRepository commentRepository,
         CommentReactionRepository commentReactionRepository,
-        ServiceUtil serviceUtil
+        PostRepository postRepository,
+        PostTagRepository postTagRepository,
+        ServiceUtil serviceUtil,
+        ParallelLookups parallelLookups,
+        ReactionWriteBuffer reactionWriteBuffer,
+        ContentDeletionService contentDeletionService
     ) {
         this.commentRepository = commentRepository;
         this.commentReactionRepository = commentReactionRepository;
+        this.postRepository = postRepository;
+        this.postTagRepository = postTagRepository;
         this.serviceUtil = serviceUtil;
+        this.parallelLookups = parallelLookups;
+        this.reactionWriteBuffer = reactionWriteBuffer;
+        this.contentDeletionService = contentDeletionService;
     }
 
+    // The cached post and parent views carry the counts bumped here
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.POSTS, key = "#requestBody['postId'].longValue()"),
+        @CacheEvict(value = CacheConfig.COMMENTS, key = "#requestBody['parentCommentId'].longValue()",
+            condition = "#requestBody['parentCommentId'] != null")
+    })
     public String create(Map<String, Object> requestBody, Long profileId) {
         createValidation(requestBody);
 
@@ -60,38 +97,104 @@ public class CommentService {
         Comment comment = new Comment(content, post, parentComment, author);
         Comment savedComment = commentRepository.save(comment);
 
-        return buildCommentResponse(savedComment, profileId);
+        postRepository.adjustCommentCount(postId, 1);
+        postTagRepository.adjustCommentCount(postId, 1);
+        if (parentCommentId != null) {
+            commentRepository.adjustReplyCount(parentCommentId, 1);
+        }
+
+        return buildCommentResponse(CommentView.of(savedComment), null);
     }
 
+    @ReadOnlyTransactional
     public String read(Long id, Long profileId) {
-        Comment comment = serviceUtil.getCommentByIdOrThrow(id);
+        try (ParallelLookups.Lookup<Boolean> viewerReaction = profileId == null ?
+                () -> null : parallelLookups.fork(() -> findViewerReaction(id, profileId))) {
+            CommentView comment = serviceUtil.getCommentViewOrThrow(id)
+                .withDelta(reactionWriteBuffer.pendingDelta(Target.COMMENT, id));
+            requireVisiblePost(comment.postId());
 
-        updateReactions(comment);
-
-        return buildCommentResponse(comment, profileId);
+            return buildCommentResponse(comment, viewerReaction.join());
+        }
     }
 
-    public String readAll(Long postId, Long parentCommentId, Long profileId, int page, int size) {
-        Sort sort = Sort.by(FieldName.LIKES).descending();
-        Pageable pageable = PageRequest.of(page, Math.min(size, 20), sort);
-        Page<Comment> commentsPage = commentRepository.findByPostIdAndParentCommentId(postId, parentCommentId, pageable);
+    @ReadOnlyTransactional
+    public String readAll(Long postId, Long parentCommentId, Long profileId, String sortBy, String cursor, int size) {
+        ThreadSort sort = ThreadSort.fromFieldName(sortBy);
+        if (sort == null) {
+            throw new FormatException("The 'sortBy' field must be one of: likes, replies");
+        }
+
+        requireVisiblePost(postId);
+        Slice<CommentView> commentsSlice = commentRepository.findThread(
+            postId,
+            parentCommentId,
+            sort,
+            Cursor.decode(cursor),
+            Math.clamp(size, 1, MAX_PAGE_SIZE));
+
+        List<CommentView> comments = commentsSlice.getContent();
+        Map<Long, Boolean> viewerReactions = findViewerReactions(comments.stream().map(CommentView::id).toList(),
+            profileId);
+
+        String nextCursor = commentsSlice.hasNext() ?
+            new Cursor(sort.sortKey(comments.getLast()), comments.getLast().id()).encode() : null;
 
         return new JsonBuilder()
-            .add(FieldName.COMMENTS, commentsPage.stream()
-                .map(comment -> {
-                    updateReactions(comment);
-                    return commentResponse(comment, profileId);
-                })
+            .add(FieldName.COMMENTS, comments.stream()
+                .map(comment -> commentResponse(
+                    comment.withDelta(reactionWriteBuffer.pendingDelta(Target.COMMENT, comment.id())),
+                    viewerReactions.get(comment.id())))
                 .toList())
+            .add(FieldName.NEXT_CURSOR, nextCursor)
+            .build();
+    }
+
+    // The whole tree comes from one query; nodes are built deepest first so each parent finds its replies done
+    @ReadOnlyTransactional
+    public String readTree(Long postId, Long parentCommentId, Long profileId, int depth, int fanOut) {
+        requireVisiblePost(postId);
+
+        if (parentCommentId != null) {
+            Comment parent = serviceUtil.getCommentByIdOrThrow(parentCommentId);
+            if (!postId.equals(parent.getPost().getId())) {
+                throw new ResourceNotFoundException("Comment not found");
+            }
+        }
+
+        List<CommentView> comments = commentRepository.findTree(postId, parentCommentId,
+            Math.clamp(depth, 1, MAX_TREE_DEPTH), Math.clamp(fanOut, 1, MAX_PAGE_SIZE));
+        Map<Long, Boolean> viewerReactions = findViewerReactions(comments.stream().map(CommentView::id).toList(),
+            profileId);
+
+        Map<Long, Deque<JsonBuilder>> repliesByParent = new HashMap<>();
+        for (CommentView comment : comments.reversed()) {
+            Deque<JsonBuilder> replies = repliesByParent.remove(comment.id());
+            JsonBuilder node = commentResponse(
+                comment.withDelta(reactionWriteBuffer.pendingDelta(Target.COMMENT, comment.id())),
+                viewerReactions.get(comment.id()))
+                .add(FieldName.REPLIES, replies == null ? List.of() : replies);
+            repliesByParent.computeIfAbsent(comment.parentCommentId(), _ -> new ArrayDeque<>()).addFirst(node);
+        }
+
+        Deque<JsonBuilder> roots = repliesByParent.get(parentCommentId);
+        return new JsonBuilder()
+            .add(FieldName.COMMENTS, roots == null ? List.of() : roots)
             .build();
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.COMMENTS, key = "#id", condition = "!@reactionWriteBuffer.enabled")
     public String reactToComment(Long id, Long profileId, Boolean likeVal) {
+        if (reactionWriteBuffer.isEnabled()) {
+            return reactToCommentBuffered(id, profileId, likeVal);
+        }
+
         Comment comment = serviceUtil.getCommentByIdOrThrow(id);
         Profile profile = serviceUtil.getProfileByIdOrThrow(profileId);
 
         Optional<CommentReaction> reaction = commentReactionRepository.findByCommentIdAndProfileId(id, profileId);
+        Boolean previousVal = reaction.map(CommentReaction::getIsLike).orElse(null);
 
         reaction.ifPresentOrElse(commentReaction -> {
             if (likeVal == null) {
@@ -107,28 +210,34 @@ public class CommentService {
             }
         });
 
-        updateReactions(comment);
-        Comment savedComment = commentRepository.save(comment);
+        applyReactionDelta(comment, ReactionDelta.between(previousVal, likeVal));
 
-        return buildCommentResponse(savedComment, profileId);
+        return buildCommentResponse(CommentView.of(comment), likeVal);
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.COMMENTS, key = "#commentId")
     public void delete(Long commentId, Long profileId) {
-        Comment comment = serviceUtil.getCommentByIdOrThrow(commentId);
+        Long authorId = commentRepository.findAuthorIdById(commentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
 
-        if (!profileId.equals(comment.getAuthor().getId())) {
+        if (!profileId.equals(authorId)) {
             throw new UnauthorizedException("Comment does not belong to profile.");
         }
 
-        commentReactionRepository.findByCommentId(commentId)
-            .forEach(commentReactionRepository::delete);
-
-        commentRepository.delete(comment);
+        contentDeletionService.softDeleteCommentTrees(List.of(commentId));
+        reactionWriteBuffer.discard(Target.COMMENT, commentId);
     }
 
     // === Private Helper Methods === //
 
+    // Deleting a post flags only the post, so its comments are hidden here; the check is usually a cache hit
+    private void requireVisiblePost(Long postId) {
+        if (postId != null) {
+            serviceUtil.getPostViewOrThrow(postId);
+        }
+    }
+
     private void createValidation(Map<String, Object> requestBody) {
         Map<String, Class<?>> requiredFields = new HashMap<>();
         requiredFields.put(FieldName.CONTENT, String.class);
@@ -147,40 +256,91 @@ public class CommentService {
         }
     }
 
-    private void updateReactions(Comment comment) {
-        long likes = commentReactionRepository.countByCommentIdAndIsLikeTrue(comment.getId());
-        long dislikes = commentReactionRepository.countByCommentIdAndIsLikeFalse(comment.getId());
+    // Only the projected state is returned; the row writes and counter deltas are left to the next flush
+    private String reactToCommentBuffered(Long id, Long profileId, Boolean likeVal) {
+        CommentView comment = serviceUtil.getCommentViewOrThrow(id);
+        serviceUtil.getProfileByIdOrThrow(profileId);
 
-        comment.setLikes(likes);
-        comment.setDislikes(dislikes);
+        ReactionDelta pending = reactionWriteBuffer.react(Target.COMMENT, id, profileId, likeVal,
+            () -> findStoredReaction(id, profileId));
+
+        return buildCommentResponse(comment.withDelta(pending), likeVal);
     }
 
-    private JsonBuilder commentResponse(Comment comment, Long profileId) {
-        Optional<CommentReaction> commentReaction = commentReactionRepository
-            .findByCommentIdAndProfileId(comment.getId(), profileId);
+    private void applyReactionDelta(Comment comment, ReactionDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
 
-        JsonBuilder builder = new JsonBuilder()
-            .add(FieldName.ID, comment.getId())
-            .add(FieldName.CONTENT, comment.getContent())
-            .add(FieldName.LIKES, comment.getLikes())
-            .add(FieldName.DISLIKES, comment.getDislikes());
+        // Counters are only ever written through the atomic UPDATE; the entity copy is for the response
+        commentRepository.adjustReactionCounts(comment.getId(), delta.likes(), delta.dislikes());
+        comment.setLikes(comment.getLikes() + delta.likes());
+        comment.setDislikes(comment.getDislikes() + delta.dislikes());
+    }
 
-        if (comment.getPost() != null) {
-            builder.add(FieldName.POST_ID, comment.getPost().getId());
+    private Boolean findViewerReaction(Long commentId, Long profileId) {
+        if (profileId == null) {
+            return null;
         }
-        if (comment.getAuthor() != null) {
-            builder.add(FieldName.AUTHOR_ID, comment.getAuthor().getId());
+
+        Optional<ReactionWriteBuffer.PendingReaction> pending =
+            reactionWriteBuffer.pending(Target.COMMENT, commentId, profileId);
+        if (pending.isPresent()) {
+            return pending.get().latest();
         }
-        if (comment.getParentComment() != null) {
-            builder.add(FieldName.PARENT_COMMENT_ID, comment.getParentComment().getId());
+
+        return findStoredReaction(commentId, profileId);
+    }
+
+    private Boolean findStoredReaction(Long commentId, Long profileId) {
+        return commentReactionRepository.findByCommentIdAndProfileId(commentId, profileId)
+            .map(CommentReaction::getIsLike)
+            .orElse(null);
+    }
+
+    // Fetches the viewer's reactions for a whole page in one IN (...) query
+    private Map<Long, Boolean> findViewerReactions(List<Long> commentIds, Long profileId) {
+        if (profileId == null || commentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, Boolean> reactions = commentReactionRepository.findByProfileIdAndCommentIdIn(profileId, commentIds)
+            .stream()
+            .collect(Collectors.toMap(reaction -> reaction.getComment().getId(), CommentReaction::getIsLike));
+
+        if (reactionWriteBuffer.isEnabled()) {
+            commentIds.forEach(commentId -> reactionWriteBuffer.pending(Target.COMMENT, commentId, profileId)
+                .ifPresent(pending -> reactions.put(commentId, pending.latest())));
         }
+        return reactions;
+    }
 
-        commentReaction.ifPresent(reaction -> builder.add(FieldName.IS_LIKED, reaction.getIsLike()));
+    private JsonBuilder commentResponse(CommentView comment, Boolean isLiked) {
+        JsonBuilder builder = new JsonBuilder()
+            .add(FieldName.ID, comment.id())
+            .add(FieldName.CONTENT, comment.content())
+            .add(FieldName.LIKES, comment.likes())
+            .add(FieldName.DISLIKES, comment.dislikes())
+            .add(FieldName.REPLY_COUNT, comment.replyCount());
+
+        if (comment.postId() != null) {
+            builder.add(FieldName.POST_ID, comment.postId());
+        }
+        if (comment.authorId() != null) {
+            builder.add(FieldName.AUTHOR_ID, comment.authorId());
+        }
+        if (comment.parentCommentId() != null) {
+            builder.add(FieldName.PARENT_COMMENT_ID, comment.parentCommentId());
+        }
+
+        if (isLiked != null) {
+            builder.add(FieldName.IS_LIKED, isLiked);
+        }
 
         return builder;
     }
 
-    private String buildCommentResponse(Comment comment, Long profileId) {
-        return commentResponse(comment, profileId).build();
+    private String buildCommentResponse(CommentView comment, Boolean isLiked) {
+        return commentResponse(comment, isLiked).build();
     }
 }
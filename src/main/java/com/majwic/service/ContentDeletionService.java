@@ -0,0 +1,146 @@
+package com.majwic.service;
+
+import com.majwic.configuration.CacheConfig;
+import com.majwic.repository.CommentReactionRepository;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ProfileRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Requests only flag content as deleted, which hides it from every read at once. The rows are removed later by
+ * {@link ContentPurgeWorker} through the set-based DELETEs below, issued children first so no entity is loaded
+ * and no cascade runs one row at a time.
+ */
+@Service
+public class ContentDeletionService {
+
+    // Keeps IN lists well under driver parameter limits
+    private static final int CHUNK_SIZE = 500;
+
+    private final PostRepository postRepository;
+    private final PostReactionRepository postReactionRepository;
+    private final PostTagRepository postTagRepository;
+    private final CommentRepository commentRepository;
+    private final CommentReactionRepository commentReactionRepository;
+    private final ProfileRepository profileRepository;
+    private final CacheManager cacheManager;
+
+    public ContentDeletionService(
+        PostRepository postRepository,
+        PostReactionRepository postReactionRepository,
+        PostTagRepository postTagRepository,
+        CommentRepository commentRepository,
+        CommentReactionRepository commentReactionRepository,
+        ProfileRepository profileRepository,
+        CacheManager cacheManager
+    ) {
+        this.postRepository = postRepository;
+        this.postReactionRepository = postReactionRepository;
+        this.postTagRepository = postTagRepository;
+        this.commentRepository = commentRepository;
+        this.commentReactionRepository = commentReactionRepository;
+        this.profileRepository = profileRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // Comments of a hidden post stay unflagged; every comment read checks its post first
+    @Transactional
+    public void softDeletePosts(Collection<Long> postIds) {
+        inChunks(postIds, postRepository::markDeleted);
+    }
+
+    // Flags the given comments and all of their replies, level by level. The counts only cover unflagged comments,
+    // so each level is taken off them just before it is flagged and nothing is retracted twice
+    @Transactional
+    public void softDeleteCommentTrees(Collection<Long> rootIds) {
+        Set<Long> seen = new LinkedHashSet<>(rootIds);
+        List<Long> level = List.copyOf(seen);
+        inChunks(level, chunk -> {
+            evict(CacheConfig.POSTS, commentRepository.findPostIdsByIds(chunk));
+            evict(CacheConfig.COMMENTS, commentRepository.findParentIdsByIds(chunk));
+            commentRepository.retractFromReplyCounts(chunk);
+        });
+
+        while (!level.isEmpty()) {
+            List<Long> children = new ArrayList<>();
+            inChunks(level, chunk -> {
+                postRepository.retractCommentCounts(chunk);
+                postTagRepository.retractCommentCounts(chunk);
+                commentRepository.markDeleted(chunk);
+                children.addAll(commentRepository.findIdsByParentIds(chunk));
+            });
+            evict(CacheConfig.COMMENTS, level);
+            level = children.stream().filter(seen::add).toList();
+        }
+    }
+
+    @Transactional
+    public void softDeleteProfile(Long profileId) {
+        profileRepository.markDeleted(profileId);
+        postRepository.markDeletedByAuthorId(profileId);
+        softDeleteCommentTrees(commentRepository.findIdsByAuthorId(profileId));
+    }
+
+    @Transactional
+    public void deletePosts(Collection<Long> postIds) {
+        inChunks(postIds, chunk -> {
+            commentReactionRepository.bulkDeleteByPostIds(chunk);
+            commentRepository.detachRepliesByPostIds(chunk);
+            commentRepository.bulkDeleteByPostIds(chunk);
+            postReactionRepository.bulkDeleteByPostIds(chunk);
+            postTagRepository.bulkDeleteByPostIds(chunk);
+            postRepository.bulkDeleteByIds(chunk);
+        });
+    }
+
+    // Callers pass comments without remaining replies
+    @Transactional
+    public void deleteComments(Collection<Long> commentIds) {
+        inChunks(commentIds, chunk -> {
+            commentReactionRepository.bulkDeleteByCommentIds(chunk);
+            commentRepository.bulkDeleteByIds(chunk);
+        });
+    }
+
+    // Takes the profile's remaining reactions back out of the counters before removing them and the profile
+    @Transactional
+    public void deleteProfile(Long profileId) {
+        postTagRepository.retractLikesOf(profileId);
+        postRepository.retractReactionsOf(profileId);
+        postReactionRepository.bulkDeleteByProfileId(profileId);
+
+        commentRepository.retractReactionsOf(profileId);
+        commentReactionRepository.bulkDeleteByProfileId(profileId);
+
+        profileRepository.deleteById(profileId);
+    }
+
+    // === Private Helper Methods === //
+
+    private void evict(String cacheName, Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    private static void inChunks(Collection<Long> ids, Consumer<List<Long>> action) {
+        List<Long> list = List.copyOf(ids);
+        for (int from = 0; from < list.size(); from += CHUNK_SIZE) {
+            action.accept(list.subList(from, Math.min(from + CHUNK_SIZE, list.size())));
+        }
+    }
+}
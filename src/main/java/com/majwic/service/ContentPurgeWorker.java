@@ -0,0 +1,122 @@
+package com.majwic.service;
+
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Removes soft-deleted content a small batch at a time: comments first, replies before their parents, then posts
+ * with no comments left, then profiles with no content left. Each batch commits on its own so locks are held only
+ * briefly, and a run removes at most batch-size rows. All progress lives in the deleted flags, so a restart simply
+ * picks up where the last run stopped.
+ */
+@Service
+public class ContentPurgeWorker {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ProfileRepository profileRepository;
+    private final ContentDeletionService contentDeletionService;
+    private final int batchSize;
+
+    private final Counter purgedPosts;
+    private final Counter purgedComments;
+    private final Counter purgedProfiles;
+    private final AtomicLong pendingPosts = new AtomicLong();
+    private final AtomicLong pendingComments = new AtomicLong();
+    private final AtomicLong pendingProfiles = new AtomicLong();
+
+    public ContentPurgeWorker(
+        PostRepository postRepository,
+        CommentRepository commentRepository,
+        ProfileRepository profileRepository,
+        ContentDeletionService contentDeletionService,
+        MeterRegistry meterRegistry,
+        @Value("${content.purge.batch-size:100}") int batchSize
+    ) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.profileRepository = profileRepository;
+        this.contentDeletionService = contentDeletionService;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.purgedPosts = Counter.builder("content.purge.removed").tag("type", "post").register(meterRegistry);
+        this.purgedComments = Counter.builder("content.purge.removed").tag("type", "comment")
+            .register(meterRegistry);
+        this.purgedProfiles = Counter.builder("content.purge.removed").tag("type", "profile")
+            .register(meterRegistry);
+        Gauge.builder("content.purge.pending", pendingPosts, AtomicLong::get).tag("type", "post")
+            .register(meterRegistry);
+        Gauge.builder("content.purge.pending", pendingComments, AtomicLong::get).tag("type", "comment")
+            .register(meterRegistry);
+        Gauge.builder("content.purge.pending", pendingProfiles, AtomicLong::get).tag("type", "profile")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(
+        initialDelayString = "${content.purge.interval:PT30S}",
+        fixedDelayString = "${content.purge.interval:PT30S}"
+    )
+    public void purge() {
+        // An idle run costs one probe of each deleted index rather than every finder
+        if (!hasFlaggedRows()) {
+            return;
+        }
+
+        int budget = batchSize;
+        budget -= purgeBatch(commentRepository.findPurgeableIdsOnDeletedPosts(PageRequest.of(0, budget)),
+            contentDeletionService::deleteComments, purgedComments);
+        if (budget > 0) {
+            budget -= purgeBatch(commentRepository.findPurgeableIds(PageRequest.of(0, budget)),
+                contentDeletionService::deleteComments, purgedComments);
+        }
+        if (budget > 0) {
+            budget -= purgeBatch(postRepository.findPurgeableIds(PageRequest.of(0, budget)),
+                contentDeletionService::deletePosts, purgedPosts);
+        }
+        if (budget > 0) {
+            // Profiles go one per transaction since each also retracts that profile's reactions
+            profileRepository.findPurgeableIds(PageRequest.of(0, budget)).forEach(profileId -> {
+                contentDeletionService.deleteProfile(profileId);
+                purgedProfiles.increment();
+            });
+        }
+    }
+
+    // The counts scan every flagged row, so they run far less often than the purge itself
+    @Scheduled(
+        initialDelayString = "${content.purge.pending-refresh-interval:PT5M}",
+        fixedDelayString = "${content.purge.pending-refresh-interval:PT5M}"
+    )
+    public void refreshPendingCounts() {
+        pendingPosts.set(postRepository.countByDeletedTrue());
+        pendingComments.set(commentRepository.countByDeletedTrue());
+        pendingProfiles.set(profileRepository.countByDeletedTrue());
+    }
+
+    // === Private Helper Methods === //
+
+    private static int purgeBatch(List<Long> ids, Consumer<List<Long>> delete, Counter purged) {
+        if (!ids.isEmpty()) {
+            delete.accept(ids);
+            purged.increment(ids.size());
+        }
+        return ids.size();
+    }
+
+    private boolean hasFlaggedRows() {
+        return commentRepository.existsByDeletedTrue() || postRepository.existsByDeletedTrue()
+            || profileRepository.existsByDeletedTrue();
+    }
+}
@@ -0,0 +1,164 @@
+package com.majwic.service;
+
+import com.majwic.model.PostTag;
+import com.majwic.projection.PostScore;
+import com.majwic.repository.PostRepository;
+import com.majwic.util.Cursor;
+import com.majwic.util.TopK;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Global and per-tag "hot" rankings kept in memory and updated from {@link PostScoreChanged} events.
+ * The score is log10 of the net votes plus the age term createdAt / decay. That orders posts exactly like
+ * votes decaying tenfold every decay period, but a stored score never has to change as time passes.
+ */
+@Service
+public class HotFeedService {
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private record Rankings(TopK global, Map<String, TopK> byTag) {}
+
+    private final PostRepository postRepository;
+    private final int capacity;
+    private final int tagCapacity;
+    private final double decaySeconds;
+    private final Duration window;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Rankings rankings;
+    private volatile Rankings rebuilding;
+
+    public HotFeedService(
+        PostRepository postRepository,
+        @Value("${feed.hot.capacity:1000}") int capacity,
+        @Value("${feed.hot.tag-capacity:200}") int tagCapacity,
+        @Value("${feed.hot.decay:PT12H30M}") Duration decay,
+        @Value("${feed.hot.window:P7D}") Duration window
+    ) {
+        this.postRepository = postRepository;
+        this.capacity = capacity;
+        this.tagCapacity = tagCapacity;
+        this.decaySeconds = decay.toSeconds();
+        this.window = window;
+        this.rankings = emptyRankings();
+    }
+
+    public double score(long likes, long dislikes, Instant createdAt) {
+        long net = likes - dislikes;
+        double votes = Math.signum(net) * Math.log10(Math.max(Math.abs(net), 1));
+        return votes + createdAt.getEpochSecond() / decaySeconds;
+    }
+
+    public List<TopK.Entry> page(String tag, Cursor after, int limit) {
+        String normalizedTag = PostTag.normalize(tag);
+        Rankings current = rankings;
+        TopK ranking = normalizedTag.isEmpty() ? current.global() : current.byTag().get(normalizedTag);
+        if (ranking == null) {
+            return List.of();
+        }
+
+        TopK.Entry afterEntry = after == null ?
+            null : new TopK.Entry(after.id(), Double.longBitsToDouble(after.sortKey()));
+        return ranking.page(afterEntry, limit);
+    }
+
+    public static Cursor cursorAfter(TopK.Entry entry) {
+        return new Cursor(Double.doubleToLongBits(entry.score()), entry.id());
+    }
+
+    // Used when a ranked post turns out to be gone while a page is hydrated
+    public void evict(Collection<Long> postIds) {
+        Rankings current = rankings;
+        postIds.forEach(postId -> {
+            current.global().remove(postId);
+            current.byTag().values().forEach(ranking -> ranking.remove(postId));
+        });
+    }
+
+    // Runs after commit so a rolled-back reaction never moves a post
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostScoreChanged(PostScoreChanged event) {
+        if (event.createdAt() == null) {
+            return;
+        }
+
+        apply(rankings, event.postId(), event.tags(), event.likes(), event.dislikes(), event.createdAt());
+        Rankings inProgress = rebuilding;
+        if (inProgress != null) {
+            apply(inProgress, event.postId(), event.tags(), event.likes(), event.dislikes(), event.createdAt());
+        }
+    }
+
+    /**
+     * Recomputes both rankings from posts created within the window and swaps them in. Besides the startup load
+     * this re-admits posts that fell out of a full ranking and ages out those past the window.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${feed.hot.rebuild-interval:PT10M}",
+        fixedDelayString = "${feed.hot.rebuild-interval:PT10M}"
+    )
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            Rankings next = emptyRankings();
+            rebuilding = next;
+
+            Instant afterCreatedAt = Instant.now().minus(window);
+            long afterId = 0;
+            while (true) {
+                List<PostScore> batch = postRepository.findScoresCreatedAfter(
+                    afterCreatedAt, afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                batch.forEach(post -> apply(next, post.id(), tagsOf(post.tags()),
+                    post.likes(), post.dislikes(), post.createdAt()));
+
+                if (batch.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                afterCreatedAt = batch.getLast().createdAt();
+                afterId = batch.getLast().id();
+            }
+
+            rankings = next;
+        } finally {
+            rebuilding = null;
+            rebuildLock.unlock();
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    private Rankings emptyRankings() {
+        return new Rankings(new TopK(capacity), new ConcurrentHashMap<>());
+    }
+
+    private void apply(Rankings target, long postId, List<String> tags, long likes, long dislikes, Instant createdAt) {
+        double score = score(likes, dislikes, createdAt);
+        target.global().update(postId, score);
+        tags.stream()
+            .map(PostTag::normalize)
+            .filter(tag -> !tag.isEmpty())
+            .distinct()
+            .forEach(tag -> target.byTag().computeIfAbsent(tag, _ -> new TopK(tagCapacity)).update(postId, score));
+    }
+
+    private static List<String> tagsOf(String tags) {
+        return tags == null ? List.of() : Arrays.asList(tags.split(","));
+    }
+}
@@ -0,0 +1,14 @@
+package com.majwic.service;
+
+import com.majwic.projection.PostView;
+
+import java.time.Instant;
+import java.util.List;
+
+// Published whenever a post is created or its counters change; carries the counts after the change
+public record PostScoreChanged(long postId, List<String> tags, long likes, long dislikes, Instant createdAt) {
+
+    public static PostScoreChanged of(PostView post) {
+        return new PostScoreChanged(post.id(), post.tags(), post.likes(), post.dislikes(), post.createdAt());
+    }
+}
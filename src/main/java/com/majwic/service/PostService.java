@@ -1,45 +1,79 @@
 package com.majwic.service;
 
+import com.majwic.configuration.CacheConfig;
+import com.majwic.configuration.ReadOnlyTransactional;
 import com.majwic.exception.FormatException;
+import com.majwic.exception.ResourceNotFoundException;
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.PostReaction;
 import com.majwic.model.Post;
+import com.majwic.model.PostTag;
 import com.majwic.model.Profile;
+import com.majwic.projection.PostView;
+import com.majwic.repository.FeedSort;
 import com.majwic.repository.PostReactionRepository;
 import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.service.ReactionWriteBuffer.Target;
+import com.majwic.util.Cursor;
 import com.majwic.util.FieldName;
 import com.majwic.util.JsonBuilder;
+import com.majwic.util.ParallelLookups;
+import com.majwic.util.ReactionDelta;
 import com.majwic.util.ServiceUtil;
+import com.majwic.util.TopK;
 import com.majwic.util.ValidationUtil;
 import jakarta.transaction.Transactional;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
     private static final int MAX_CONTENT_LENGTH = 1000;
+    private static final int MAX_PAGE_SIZE = 20;
 
     private final PostRepository postRepository;
     private final PostReactionRepository postReactionRepository;
+    private final PostTagRepository postTagRepository;
     private final ServiceUtil serviceUtil;
+    private final ParallelLookups parallelLookups;
+    private final ReactionWriteBuffer reactionWriteBuffer;
+    private final ContentDeletionService contentDeletionService;
+    private final HotFeedService hotFeedService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PostService(
         PostRepository postRepository,
         PostReactionRepository postReactionRepository,
-        ServiceUtil serviceUtil
+        PostTagRepository postTagRepository,
+        ServiceUtil serviceUtil,
+        ParallelLookups parallelLookups,
+        ReactionWriteBuffer reactionWriteBuffer,
+        ContentDeletionService contentDeletionService,
+        HotFeedService hotFeedService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.postRepository    = postRepository;
         this.postReactionRepository = postReactionRepository;
+        this.postTagRepository = postTagRepository;
         this.serviceUtil = serviceUtil;
+        this.parallelLookups = parallelLookups;
+        this.reactionWriteBuffer = reactionWriteBuffer;
+        this.contentDeletionService = contentDeletionService;
+        this.hotFeedService = hotFeedService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -54,42 +88,84 @@ public class PostService {
         Post post = new Post(content, tags, author);
         Post savedPost = postRepository.save(post);
 
-        return buildPostResponse(savedPost, profileId);
+        PostView view = PostView.of(savedPost);
+        eventPublisher.publishEvent(PostScoreChanged.of(view));
+        return buildPostResponse(view, null);
     }
 
+    @ReadOnlyTransactional
     public String read(Long postId, Long profileId) {
-        Post post = serviceUtil.getPostByIdOrThrow(postId);
+        try (ParallelLookups.Lookup<Boolean> viewerReaction = profileId == null ?
+                () -> null : parallelLookups.fork(() -> findViewerReaction(postId, profileId))) {
+            PostView post = serviceUtil.getPostViewOrThrow(postId)
+                .withDelta(reactionWriteBuffer.pendingDelta(Target.POST, postId));
+
+            return buildPostResponse(post, viewerReaction.join());
+        }
+    }
+
+    @ReadOnlyTransactional
+    public String getPostsByTag(String tag, String sortBy, String sortDir, String cursor, int size, Long profileId) {
+        FeedSort sort = FeedSort.fromFieldName(sortBy);
+        if (sort == null) {
+            throw new FormatException("The 'sortBy' field must be one of: likes, id, new, comments");
+        }
+
+        boolean ascending = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name());
+        String normalizedTag = PostTag.normalize(tag);
 
-        updateReactions(post);
+        Slice<PostView> postsSlice = postRepository.findFeed(
+            normalizedTag.isEmpty() ? null : normalizedTag,
+            sort,
+            ascending,
+            Cursor.decode(cursor),
+            Math.clamp(size, 1, MAX_PAGE_SIZE));
 
-        return buildPostResponse(post, profileId);
+        List<PostView> posts = postsSlice.getContent();
+
+        String nextCursor = postsSlice.hasNext() ?
+            new Cursor(sort.sortKey(posts.getLast()), posts.getLast().id()).encode() : null;
+
+        return buildFeedResponse(posts, profileId, nextCursor);
     }
 
+    // Ranked ids come from memory; the page itself is hydrated with one IN (...) query
+    @ReadOnlyTransactional
+    public String getHotPosts(String tag, String cursor, int size, Long profileId) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        List<TopK.Entry> ranked = hotFeedService.page(tag, Cursor.decode(cursor), limit + 1);
+        boolean hasNext = ranked.size() > limit;
+        if (hasNext) {
+            ranked = ranked.subList(0, limit);
+        }
 
-    public String getPostsByTag(String tag, String sortBy, String sortDir, int page, int size, Long profileId) {
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
-            Sort.by(sortBy).ascending() :
-            Sort.by(sortBy).descending();
+        List<Long> postIds = ranked.stream().map(TopK.Entry::id).toList();
+        Map<Long, PostView> postsById = postRepository.findViewsByIdIn(postIds).stream()
+            .collect(Collectors.toMap(PostView::id, Function.identity()));
 
-        Pageable pageable = PageRequest.of(page, Math.min(size, 20), sort);
-        Page<Post> postsPage = postRepository.findByTagContaining((tag == null) ? "" : tag, pageable);
+        List<Long> missing = postIds.stream().filter(postId -> !postsById.containsKey(postId)).toList();
+        if (!missing.isEmpty()) {
+            hotFeedService.evict(missing);
+        }
 
-        return new JsonBuilder()
-            .add(FieldName.POSTS, postsPage.stream()
-                .map(post -> {
-                    updateReactions(post);
-                    return postResponse(post, profileId);
-                })
-                .toList())
-            .build();
+        List<PostView> posts = postIds.stream().map(postsById::get).filter(Objects::nonNull).toList();
+        String nextCursor = hasNext ? HotFeedService.cursorAfter(ranked.getLast()).encode() : null;
+
+        return buildFeedResponse(posts, profileId, nextCursor);
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.POSTS, key = "#postId", condition = "!@reactionWriteBuffer.enabled")
     public String reactToPost(Long postId, Long profileId, Boolean likeVal) {
+        if (reactionWriteBuffer.isEnabled()) {
+            return reactToPostBuffered(postId, profileId, likeVal);
+        }
+
         Post post = serviceUtil.getPostByIdOrThrow(postId);
         Profile profile = serviceUtil.getProfileByIdOrThrow(profileId);
 
         Optional<PostReaction> reaction = postReactionRepository.findByPostIdAndProfileId(postId, profileId);
+        Boolean previousVal = reaction.map(PostReaction::getIsLike).orElse(null);
 
         reaction.ifPresentOrElse(postReaction -> {
             if (likeVal == null) {
@@ -105,24 +181,29 @@ public class PostService {
             }
         });
 
-        updateReactions(post);
-        Post savedPost = postRepository.save(post);
+        ReactionDelta delta = ReactionDelta.between(previousVal, likeVal);
+        applyReactionDelta(post, delta);
 
-        return buildPostResponse(savedPost, profileId);
+        PostView view = PostView.of(post);
+        if (!delta.isEmpty()) {
+            eventPublisher.publishEvent(PostScoreChanged.of(view));
+        }
+        return buildPostResponse(view, likeVal);
     }
 
     @Transactional
+    @CacheEvict(value = CacheConfig.POSTS, key = "#postId")
     public void delete(Long profileId, Long postId) {
-        Post post = serviceUtil.getPostByIdOrThrow(postId);
+        Long authorId = postRepository.findAuthorIdById(postId)
+            .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
 
-        if (!profileId.equals(post.getAuthor().getId())) {
+        if (!profileId.equals(authorId)) {
             throw new UnauthorizedException("Post does not belong to profile.");
         }
 
-        postReactionRepository.findByPostId(postId)
-            .forEach(postReactionRepository::delete);
-
-        postRepository.delete(post);
+        contentDeletionService.softDeletePosts(List.of(postId));
+        reactionWriteBuffer.discard(Target.POST, postId);
+        hotFeedService.evict(List.of(postId));
     }
 
     // === Private Helper Methods === //
@@ -150,34 +231,105 @@ public class PostService {
         }
     }
 
-    private void updateReactions(Post post) {
-        long likes = postReactionRepository.countByPostIdAndIsLikeTrue(post.getId());
-        long dislikes = postReactionRepository.countByPostIdAndIsLikeFalse(post.getId());
-        post.setLikes(likes);
-        post.setDislikes(dislikes);
+    // Only the projected state is returned; the row writes and counter deltas are left to the next flush
+    private String reactToPostBuffered(Long postId, Long profileId, Boolean likeVal) {
+        PostView post = serviceUtil.getPostViewOrThrow(postId);
+        serviceUtil.getProfileByIdOrThrow(profileId);
+
+        ReactionDelta pending = reactionWriteBuffer.react(Target.POST, postId, profileId, likeVal,
+            () -> findStoredReaction(postId, profileId));
+
+        PostView projected = post.withDelta(pending);
+        eventPublisher.publishEvent(PostScoreChanged.of(projected));
+        return buildPostResponse(projected, likeVal);
     }
 
-    private JsonBuilder postResponse(Post post, Long profileId) {
-        Optional<PostReaction> postReaction = postReactionRepository
-            .findByPostIdAndProfileId(post.getId(), profileId);
+    private void applyReactionDelta(Post post, ReactionDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
 
-        JsonBuilder builder = new JsonBuilder()
-            .add(FieldName.ID, post.getId())
-            .add(FieldName.CONTENT, post.getContent())
-            .add(FieldName.LIKES, post.getLikes())
-            .add(FieldName.DISLIKES, post.getDislikes())
-            .add(FieldName.TAGS, post.getTags());
+        // Counters are only ever written through the atomic UPDATE; the entity copy is for the response
+        postRepository.adjustReactionCounts(post.getId(), delta.likes(), delta.dislikes());
+        if (delta.likes() != 0) {
+            postTagRepository.adjustLikes(post.getId(), delta.likes());
+        }
+        post.setLikes(post.getLikes() + delta.likes());
+        post.setDislikes(post.getDislikes() + delta.dislikes());
+    }
+
+    private Boolean findViewerReaction(Long postId, Long profileId) {
+        if (profileId == null) {
+            return null;
+        }
 
-        if (post.getAuthor() != null) {
-            builder.add(FieldName.AUTHOR_ID, post.getAuthor().getId());
+        Optional<ReactionWriteBuffer.PendingReaction> pending =
+            reactionWriteBuffer.pending(Target.POST, postId, profileId);
+        if (pending.isPresent()) {
+            return pending.get().latest();
         }
 
-        postReaction.ifPresent(reaction -> builder.add(FieldName.IS_LIKED, reaction.getIsLike()));
+        return findStoredReaction(postId, profileId);
+    }
+
+    private Boolean findStoredReaction(Long postId, Long profileId) {
+        return postReactionRepository.findByPostIdAndProfileId(postId, profileId)
+            .map(PostReaction::getIsLike)
+            .orElse(null);
+    }
+
+    // Fetches the viewer's reactions for a whole page in one IN (...) query
+    private Map<Long, Boolean> findViewerReactions(List<PostView> posts, Long profileId) {
+        if (profileId == null || posts.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> postIds = posts.stream().map(PostView::id).toList();
+
+        Map<Long, Boolean> reactions = postReactionRepository.findByProfileIdAndPostIdIn(profileId, postIds).stream()
+            .collect(Collectors.toMap(reaction -> reaction.getPost().getId(), PostReaction::getIsLike));
+
+        if (reactionWriteBuffer.isEnabled()) {
+            postIds.forEach(postId -> reactionWriteBuffer.pending(Target.POST, postId, profileId)
+                .ifPresent(pending -> reactions.put(postId, pending.latest())));
+        }
+        return reactions;
+    }
+
+    private JsonBuilder postResponse(PostView post, Boolean isLiked) {
+        JsonBuilder builder = new JsonBuilder()
+            .add(FieldName.ID, post.id())
+            .add(FieldName.CONTENT, post.content())
+            .add(FieldName.LIKES, post.likes())
+            .add(FieldName.DISLIKES, post.dislikes())
+            .add(FieldName.COMMENT_COUNT, post.commentCount())
+            .add(FieldName.TAGS, post.tags());
+
+        if (post.authorId() != null) {
+            builder.add(FieldName.AUTHOR_ID, post.authorId());
+        }
+
+        if (isLiked != null) {
+            builder.add(FieldName.IS_LIKED, isLiked);
+        }
 
         return builder;
     }
 
-    private String buildPostResponse(Post post, Long profileId) {
-        return postResponse(post, profileId).build();
+    private String buildPostResponse(PostView post, Boolean isLiked) {
+        return postResponse(post, isLiked).build();
+    }
+
+    private String buildFeedResponse(List<PostView> posts, Long profileId, String nextCursor) {
+        Map<Long, Boolean> viewerReactions = findViewerReactions(posts, profileId);
+
+        return new JsonBuilder()
+            .add(FieldName.POSTS, posts.stream()
+                .map(post -> postResponse(
+                    post.withDelta(reactionWriteBuffer.pendingDelta(Target.POST, post.id())),
+                    viewerReactions.get(post.id())))
+                .toList())
+            .add(FieldName.NEXT_CURSOR, nextCursor)
+            .build();
     }
 }
@@ -1,14 +1,19 @@
 package com.majwic.service;
 
+import com.majwic.configuration.CacheConfig;
+import com.majwic.configuration.ReadOnlyTransactional;
 import com.majwic.exception.ConflictException;
 import com.majwic.exception.FormatException;
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.Role;
 import com.majwic.util.*;
 import com.majwic.model.Profile;
+import com.majwic.projection.ProfileView;
 import com.majwic.repository.ProfileRepository;
-import jakarta.transaction.Transactional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashMap;
 import java.util.List;
@@ -19,21 +24,34 @@ public class ProfileService {
 
     private final ProfileRepository profileRepository;
     private final ServiceUtil serviceUtil;
+    private final PasswordHasher passwordHasher;
+    private final ContentDeletionService contentDeletionService;
+    private final TransactionTemplate transactionTemplate;
 
     public ProfileService(
         ProfileRepository profileRepository,
-        ServiceUtil serviceUtil
+        ServiceUtil serviceUtil,
+        PasswordHasher passwordHasher,
+        ContentDeletionService contentDeletionService,
+        TransactionTemplate transactionTemplate
     ) {
         this.profileRepository = profileRepository;
         this.serviceUtil = serviceUtil;
+        this.passwordHasher = passwordHasher;
+        this.contentDeletionService = contentDeletionService;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    @ReadOnlyTransactional
     public String read(Long id, boolean hasCred) {
-        Profile profile = serviceUtil.getProfileByIdOrThrow(id);
+        ProfileView profile = serviceUtil.getProfileViewOrThrow(id);
+        if (hasCred) {
+            profile = profile.withRoles(profileRepository.findRoleViewsByProfileId(id));
+        }
         return buildProfileResponse(profile, hasCred);
     }
 
-    @Transactional
+    // BCrypt runs before the transaction opens, so no pooled connection is held while it waits for a hasher thread
     public String create(Map<String, Object> requestBody) {
         Map<String, Class<?>> requiredFields = new HashMap<>();
         requiredFields.put(FieldName.EMAIL, String.class);
@@ -46,49 +64,84 @@ public class ProfileService {
         if (profileRepository.existsByEmail(email))
             throw new ConflictException("Profile already exists with email");
 
-        String hashedPassword = PasswordUtil.hashPassword(password);
-        Role userRole = serviceUtil.getRoleByNameOrThrow("USER");
+        String hashedPassword = passwordHasher.hash(password);
+
+        return transactionTemplate.execute(_ -> {
+            Role userRole = serviceUtil.getRoleByNameOrThrow("USER");
 
-        Profile profile = new Profile(email, hashedPassword, "not named", List.of(userRole));
-        Profile savedProfile = profileRepository.save(profile);
+            Profile profile = new Profile(email, hashedPassword, "not named", List.of(userRole));
+            Profile savedProfile = profileRepository.save(profile);
 
-        return buildProfileResponse(savedProfile, true);
+            return buildProfileResponse(ProfileView.of(savedProfile), true);
+        });
     }
 
-    @Transactional
     public String update(Long id, Map<String, Object> requestBody) {
         Map<String, Class<?>> requiredFields = new HashMap<>();
         requiredFields.put(FieldName.CURRENT_PASSWORD, String.class);
         ValidationUtil.validateRequiredFields(requestBody, requiredFields);
 
-        Profile profile = serviceUtil.getProfileByIdOrThrow(id);
-
         String currentPassword = (String) requestBody.get(FieldName.CURRENT_PASSWORD);
-        if (!PasswordUtil.verifyPassword(currentPassword, profile.getPassword())) {
-            throw new UnauthorizedException("The 'currentPassword' field is incorrect");
-        }
+        String verifiedHash = verifyPassword(id, currentPassword, "The 'currentPassword' field is incorrect");
+        String newPasswordHash = hashNewPassword(requestBody);
 
-        handleFieldUpdate(requestBody, FieldName.DISPLAY_NAME, profile);
-        handleFieldUpdate(requestBody, FieldName.EMAIL, profile);
-        handleFieldUpdate(requestBody, FieldName.NEW_PASSWORD, profile);
+        return transactionTemplate.execute(_ -> {
+            Profile profile = serviceUtil.getProfileByIdOrThrow(id);
+            requirePasswordUnchanged(profile, verifiedHash, "The 'currentPassword' field is incorrect");
 
-        profileRepository.save(profile);
+            handleFieldUpdate(requestBody, FieldName.DISPLAY_NAME, profile);
+            handleFieldUpdate(requestBody, FieldName.EMAIL, profile);
+            if (newPasswordHash != null) {
+                profile.setPassword(newPasswordHash);
+            }
 
-        return buildProfileResponse(profile, true);
+            profileRepository.save(profile);
+
+            return buildProfileResponse(ProfileView.of(profile), true);
+        });
     }
 
-    @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.POSTS, allEntries = true),
+        @CacheEvict(value = CacheConfig.COMMENTS, allEntries = true)
+    })
     public void delete(Long id, String password) {
-        Profile profile = serviceUtil.getProfileByIdOrThrow(id);
+        String verifiedHash = verifyPassword(id, password, "Incorrect password");
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            requirePasswordUnchanged(serviceUtil.getProfileByIdOrThrow(id), verifiedHash, "Incorrect password");
+            contentDeletionService.softDeleteProfile(id);
+        });
+    }
+
+    // === Private Helper Methods === //
 
-        if (!PasswordUtil.verifyPassword(password, profile.getPassword())) {
-            throw new UnauthorizedException("Incorrect password");
+    // Reads only the stored hash, outside any transaction, and returns it once the password matches
+    private String verifyPassword(Long id, String password, String message) {
+        String storedHash = serviceUtil.getPasswordHashOrThrow(id);
+        if (!passwordHasher.verify(password, storedHash)) {
+            throw new UnauthorizedException(message);
         }
+        return storedHash;
+    }
 
-        profileRepository.delete(profile);
+    // The password was checked before the transaction; a change committed in between voids that check
+    private static void requirePasswordUnchanged(Profile profile, String verifiedHash, String message) {
+        if (!verifiedHash.equals(profile.getPassword())) {
+            throw new UnauthorizedException(message);
+        }
     }
 
-    // === Private Helper Methods === //
+    private String hashNewPassword(Map<String, Object> requestBody) {
+        if (!requestBody.containsKey(FieldName.NEW_PASSWORD)) {
+            return null;
+        }
+
+        if (!(requestBody.get(FieldName.NEW_PASSWORD) instanceof String newPassword)) {
+            throw new FormatException("The '" + FieldName.NEW_PASSWORD + "' field must be a string");
+        }
+        return passwordHasher.hash(ValidationUtil.validatePassword(newPassword));
+    }
 
     private void handleFieldUpdate(Map<String, Object> requestBody, String field, Profile profile) {
         if (!requestBody.containsKey(field)) {
@@ -112,27 +165,23 @@ public class ProfileService {
                 profile.setDisplayName(ValidationUtil.validateDisplayName(fieldValue));
                 break;
 
-            case FieldName.NEW_PASSWORD:
-                profile.setPassword(PasswordUtil.hashPassword(ValidationUtil.validatePassword(fieldValue)));
-                break;
-
             default:
                 throw new IllegalArgumentException("Unhandled field: " + field);
         }
     }
 
-    private String buildProfileResponse(Profile profile, boolean hasCred) {
+    private String buildProfileResponse(ProfileView profile, boolean hasCred) {
         JsonBuilder builder = new JsonBuilder()
-            .add(FieldName.ID, profile.getId())
-            .add(FieldName.DISPLAY_NAME, profile.getDisplayName());
+            .add(FieldName.ID, profile.id())
+            .add(FieldName.DISPLAY_NAME, profile.displayName());
 
         if (hasCred) {
             builder
-                .add(FieldName.EMAIL, profile.getEmail())
-                .add(FieldName.ROLES, profile.getRoles().stream()
+                .add(FieldName.EMAIL, profile.email())
+                .add(FieldName.ROLES, profile.roles().stream()
                     .map(role -> new JsonBuilder()
-                        .add(FieldName.ID, role.getId())
-                        .add(FieldName.NAME, role.getName()))
+                        .add(FieldName.ID, role.id())
+                        .add(FieldName.NAME, role.name()))
                     .toList());
         }
 
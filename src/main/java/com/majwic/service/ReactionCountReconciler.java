@@ -0,0 +1,102 @@
+package com.majwic.service;
+
+import com.majwic.projection.CounterDrift;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongBinaryOperator;
+
+@Service
+public class ReactionCountReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionCountReconciler.class);
+
+    private final PostRepository postRepository;
+    private final PostTagRepository postTagRepository;
+    private final CommentRepository commentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${reactions.reconcile.batch-size:1000}")
+    private long batchSize;
+
+    public ReactionCountReconciler(
+        PostRepository postRepository,
+        PostTagRepository postTagRepository,
+        CommentRepository commentRepository,
+        TransactionTemplate transactionTemplate
+    ) {
+        this.postRepository = postRepository;
+        this.postTagRepository = postTagRepository;
+        this.commentRepository = commentRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Scheduled(
+        initialDelayString = "${reactions.reconcile.initial-delay:PT5M}",
+        fixedDelayString = "${reactions.reconcile.interval:PT1H}"
+    )
+    public void reconcile() {
+        long maxPostId = postRepository.findMaxId();
+        long repairedPosts = repairInBatches(maxPostId, postRepository::findReactionCountDrift,
+            drift -> postRepository.adjustReactionCounts(drift.id(), drift.drift(), drift.secondDrift()));
+        repairInBatches(maxPostId, postTagRepository::findLikesDrift,
+            drift -> postTagRepository.adjustLikesById(drift.id(), drift.drift()));
+
+        long repairedComments = repairInBatches(commentRepository.findMaxId(),
+            commentRepository::findReactionCountDrift,
+            drift -> commentRepository.adjustReactionCounts(drift.id(), drift.drift(), drift.secondDrift()));
+
+        if (repairedPosts > 0 || repairedComments > 0) {
+            log.warn("Repaired drifted reaction counters on {} posts and {} comments", repairedPosts, repairedComments);
+        }
+
+        // Comment and reply counts drift the same way; the post count is copied onto post_tag afterwards
+        long repairedCommentCounts = repairInBatches(maxPostId, postRepository::findCommentCountDrift,
+            drift -> postRepository.adjustCommentCount(drift.id(), drift.drift()));
+        repairInBatches(maxPostId, postTagRepository::findCommentCountDrift,
+            drift -> postTagRepository.adjustCommentCountById(drift.id(), drift.drift()));
+        long repairedReplyCounts = repairInBatches(commentRepository.findMaxId(),
+            commentRepository::findReplyCountDrift,
+            drift -> commentRepository.adjustReplyCount(drift.id(), drift.drift()));
+
+        if (repairedCommentCounts > 0 || repairedReplyCounts > 0) {
+            log.warn("Repaired drifted comment counts on {} posts and reply counts on {} comments",
+                repairedCommentCounts, repairedReplyCounts);
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    // Overwriting a counter with a fresh count would undo any increment committed after the count's snapshot,
+    // so drift is read first and added as a delta, which commutes with concurrent increments
+    private long repairInBatches(long maxId, DriftFinder finder, Consumer<CounterDrift> repair) {
+        return reconcileInBatches(maxId, (fromId, toId) -> transactionTemplate.execute(_ -> {
+            List<CounterDrift> drifted = finder.find(fromId, toId);
+            drifted.forEach(repair);
+            return (long) drifted.size();
+        }));
+    }
+
+    // Each batch runs in its own transaction so only a small id range is locked at a time
+    private long reconcileInBatches(long maxId, LongBinaryOperator batch) {
+        long repaired = 0;
+        for (long fromId = 0; fromId < maxId; fromId += batchSize) {
+            repaired += batch.applyAsLong(fromId, Math.min(fromId + batchSize, maxId));
+        }
+        return repaired;
+    }
+
+    @FunctionalInterface
+    private interface DriftFinder {
+        List<CounterDrift> find(long fromId, long toId);
+    }
+}
@@ -0,0 +1,379 @@
+package com.majwic.service;
+
+import com.majwic.configuration.CacheConfig;
+import com.majwic.util.ReactionDelta;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service("reactionWriteBuffer")
+public class ReactionWriteBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactionWriteBuffer.class);
+    private static final int STRIPES = 64;
+
+    public enum Target {
+        POST("post", "post_reaction", "post_id", "post_reaction_seq", CacheConfig.POSTS),
+        COMMENT("comment", "comment_reaction", "comment_id", "comment_reaction_seq", CacheConfig.COMMENTS);
+
+        private final String table;
+        private final String reactionTable;
+        private final String targetColumn;
+        private final String idSequence;
+        private final String cacheName;
+
+        Target(String table, String reactionTable, String targetColumn, String idSequence, String cacheName) {
+            this.table = table;
+            this.reactionTable = reactionTable;
+            this.targetColumn = targetColumn;
+            this.idSequence = idSequence;
+            this.cacheName = cacheName;
+        }
+    }
+
+    public record ReactionKey(Target target, long targetId, long profileId) {}
+
+    // persisted is the stored reaction the entry started from; latest is what the profile chose last
+    public record PendingReaction(Boolean persisted, Boolean latest) {
+
+        public boolean isNoop() {
+            return Objects.equals(persisted, latest);
+        }
+    }
+
+    private record TargetKey(Target target, long targetId) {}
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private Map<ReactionKey, PendingReaction> pending = new HashMap<>();
+        // Entries handed to the running flush; still authoritative until it commits
+        private Map<ReactionKey, PendingReaction> flushing = Map.of();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final Map<TargetKey, ReactionDelta> pendingDeltas = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean postgres;
+    private volatile boolean dialectDetected;
+
+    public ReactionWriteBuffer(
+        JdbcTemplate jdbcTemplate,
+        TransactionTemplate transactionTemplate,
+        CacheManager cacheManager,
+        @Value("${reactions.write-behind.enabled:false}") boolean enabled
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records the profile's latest reaction and returns the not yet flushed counter delta for the target.
+     * The stored reaction is only looked up the first time a (target, profile) pair is buffered.
+     */
+    public ReactionDelta react(Target target, long targetId, long profileId, Boolean likeVal,
+                               Supplier<Boolean> persistedLookup) {
+        ReactionKey key = new ReactionKey(target, targetId, profileId);
+        Stripe stripe = stripeFor(key);
+
+        Boolean persisted = null;
+        boolean looked = false;
+        while (true) {
+            stripe.lock.lock();
+            try {
+                PendingReaction current = currentEntry(stripe, key);
+                if (current != null || looked) {
+                    PendingReaction previous = current != null ? current : new PendingReaction(persisted, persisted);
+                    ReactionDelta delta = ReactionDelta.between(previous.latest(), likeVal);
+
+                    stripe.pending.put(key, new PendingReaction(previous.persisted(), likeVal));
+                    return pendingDeltas.merge(new TargetKey(target, targetId), delta, ReactionDelta::plus);
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+
+            // The lookup runs outside the stripe lock; the loop re-checks in case another click got there first
+            persisted = persistedLookup.get();
+            looked = true;
+        }
+    }
+
+    public Optional<PendingReaction> pending(Target target, long targetId, long profileId) {
+        ReactionKey key = new ReactionKey(target, targetId, profileId);
+        Stripe stripe = stripeFor(key);
+
+        stripe.lock.lock();
+        try {
+            return Optional.ofNullable(currentEntry(stripe, key));
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public ReactionDelta pendingDelta(Target target, long targetId) {
+        return pendingDeltas.getOrDefault(new TargetKey(target, targetId), ReactionDelta.NONE);
+    }
+
+    // Drops buffered reactions for a deleted target so the next flush does not resurrect its rows
+    public void discard(Target target, long targetId) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.pending.keySet().removeIf(key -> key.target() == target && key.targetId() == targetId);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        pendingDeltas.remove(new TargetKey(target, targetId));
+    }
+
+    @PreDestroy
+    @Scheduled(
+        initialDelayString = "${reactions.write-behind.flush-interval:PT0.5S}",
+        fixedDelayString = "${reactions.write-behind.flush-interval:PT0.5S}"
+    )
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            Map<ReactionKey, PendingReaction> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            try {
+                try {
+                    transactionTemplate.executeWithoutResult(_ -> write(batch));
+                } catch (RuntimeException e) {
+                    // Includes transaction failures (no connection, failed commit), not just SQL errors
+                    log.warn("Reaction flush of {} entries failed, retrying per target: {}",
+                        batch.size(), e.getMessage());
+                    flushPerTarget(batch);
+                    return;
+                }
+                complete(batch);
+            } finally {
+                releaseFlushing();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    private Stripe stripeFor(ReactionKey key) {
+        return stripes[Math.floorMod(key.hashCode(), STRIPES)];
+    }
+
+    private PendingReaction currentEntry(Stripe stripe, ReactionKey key) {
+        PendingReaction current = stripe.pending.get(key);
+        if (current != null) {
+            return current;
+        }
+
+        // A reaction being flushed becomes the starting point of the next entry
+        PendingReaction flushing = stripe.flushing.get(key);
+        return flushing != null ? new PendingReaction(flushing.latest(), flushing.latest()) : null;
+    }
+
+    private Map<ReactionKey, PendingReaction> drain() {
+        Map<ReactionKey, PendingReaction> batch = new LinkedHashMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                if (!stripe.pending.isEmpty()) {
+                    batch.putAll(stripe.pending);
+                    stripe.flushing = stripe.pending;
+                    stripe.pending = new HashMap<>();
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return batch;
+    }
+
+    private void releaseFlushing() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                stripe.flushing = Map.of();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    private void flushPerTarget(Map<ReactionKey, PendingReaction> batch) {
+        Map<TargetKey, Map<ReactionKey, PendingReaction>> byTarget = batch.entrySet().stream()
+            .collect(Collectors.groupingBy(
+                entry -> new TargetKey(entry.getKey().target(), entry.getKey().targetId()),
+                Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+
+        byTarget.forEach((targetKey, entries) -> {
+            try {
+                transactionTemplate.executeWithoutResult(_ -> write(entries));
+            } catch (DataIntegrityViolationException e) {
+                // The target or one of the profiles no longer exists
+                log.warn("Dropping {} buffered reactions to {} {}: {}",
+                    entries.size(), targetKey.target(), targetKey.targetId(), e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Requeueing {} buffered reactions to {} {}: {}",
+                    entries.size(), targetKey.target(), targetKey.targetId(), e.getMessage());
+                requeue(entries);
+                return;
+            }
+            complete(entries);
+        });
+    }
+
+    private void write(Map<ReactionKey, PendingReaction> batch) {
+        Map<Target, List<Object[]>> upserts = new HashMap<>();
+        Map<Target, List<Object[]>> deletes = new HashMap<>();
+        Map<TargetKey, ReactionDelta> deltas = new LinkedHashMap<>();
+
+        batch.forEach((key, reaction) -> {
+            if (reaction.isNoop()) {
+                return;
+            }
+
+            if (reaction.latest() == null) {
+                deletes.computeIfAbsent(key.target(), _ -> new ArrayList<>())
+                    .add(new Object[]{key.profileId(), key.targetId()});
+            } else {
+                upserts.computeIfAbsent(key.target(), _ -> new ArrayList<>())
+                    .add(new Object[]{key.profileId(), key.targetId(), reaction.latest()});
+            }
+            deltas.merge(new TargetKey(key.target(), key.targetId()),
+                ReactionDelta.between(reaction.persisted(), reaction.latest()), ReactionDelta::plus);
+        });
+
+        upserts.forEach((target, rows) -> jdbcTemplate.batchUpdate(upsertSql(target), rows));
+        deletes.forEach((target, rows) -> jdbcTemplate.batchUpdate(
+            "DELETE FROM " + target.reactionTable + " WHERE profile_id = ? AND " + target.targetColumn + " = ?", rows));
+
+        Map<Target, List<Object[]>> counterRows = new HashMap<>();
+        List<Object[]> tagRows = new ArrayList<>();
+        deltas.forEach((targetKey, delta) -> {
+            if (delta.isEmpty()) {
+                return;
+            }
+            counterRows.computeIfAbsent(targetKey.target(), _ -> new ArrayList<>())
+                .add(new Object[]{delta.likes(), delta.dislikes(), targetKey.targetId()});
+            if (targetKey.target() == Target.POST && delta.likes() != 0) {
+                tagRows.add(new Object[]{delta.likes(), targetKey.targetId()});
+            }
+        });
+
+        counterRows.forEach((target, rows) -> jdbcTemplate.batchUpdate(
+            "UPDATE " + target.table + " SET likes = likes + ?, dislikes = dislikes + ? " +
+                "WHERE id = ? AND deleted = false", rows));
+        if (!tagRows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE post_tag SET likes = likes + ? WHERE post_id = ?", tagRows);
+        }
+    }
+
+    private String upsertSql(Target target) {
+        if (!dialectDetected) {
+            String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+            dialectDetected = true;
+        }
+
+        // Each new row takes a whole sequence value; with the pooled-lo optimizer that can never fall inside
+        // a block Hibernate has already handed out. Rows for a target deleted meanwhile, even one deleted while
+        // this batch was in flight, are skipped rather than resurrected
+        String column = target.targetColumn;
+        String values = "SELECT CAST(? AS BIGINT) AS profile_id, CAST(? AS BIGINT) AS " + column +
+            ", CAST(? AS BOOLEAN) AS is_like";
+        String liveTarget = "EXISTS (SELECT 1 FROM " + target.table + " t WHERE t.id = v." + column +
+            " AND t.deleted = false)";
+        if (postgres) {
+            return "INSERT INTO " + target.reactionTable + " (id, profile_id, " + column + ", is_like) " +
+                "SELECT nextval('" + target.idSequence + "'), v.profile_id, v." + column + ", v.is_like " +
+                "FROM (" + values + ") v WHERE " + liveTarget + " ON CONFLICT (profile_id, " + column + ") " +
+                "DO UPDATE SET is_like = EXCLUDED.is_like";
+        }
+        return "MERGE INTO " + target.reactionTable + " r USING (SELECT * FROM (" + values + ") v " +
+            "WHERE " + liveTarget + ") s " +
+            "ON r.profile_id = s.profile_id AND r." + column + " = s." + column + " " +
+            "WHEN MATCHED THEN UPDATE SET is_like = s.is_like " +
+            "WHEN NOT MATCHED THEN INSERT (id, profile_id, " + column + ", is_like) " +
+            "VALUES (NEXT VALUE FOR " + target.idSequence + ", s.profile_id, s." + column + ", s.is_like)";
+    }
+
+    // The counters are committed, so the pending delta moves out of the overlay and then the cached view is dropped.
+    // Evicting only after the reduction means a reader can never reload the committed counters and still add the
+    // delta they already contain; one that reads in between sees the pre-flush view briefly without it
+    private void complete(Map<ReactionKey, PendingReaction> entries) {
+        Map<TargetKey, ReactionDelta> flushed = new HashMap<>();
+        entries.forEach((key, reaction) -> flushed.merge(new TargetKey(key.target(), key.targetId()),
+            ReactionDelta.between(reaction.persisted(), reaction.latest()), ReactionDelta::plus));
+
+        flushed.forEach((targetKey, delta) -> {
+            pendingDeltas.computeIfPresent(targetKey, (_, pending) -> {
+                ReactionDelta remaining = pending.minus(delta);
+                return remaining.isEmpty() ? null : remaining;
+            });
+
+            Cache cache = cacheManager.getCache(targetKey.target().cacheName);
+            if (cache != null) {
+                cache.evict(targetKey.targetId());
+            }
+        });
+    }
+
+    // Newer clicks win, but keep the stored state the failed entry started from
+    private void requeue(Map<ReactionKey, PendingReaction> entries) {
+        entries.forEach((key, reaction) -> {
+            Stripe stripe = stripeFor(key);
+            stripe.lock.lock();
+            try {
+                stripe.pending.merge(key, reaction,
+                    (newer, failed) -> new PendingReaction(failed.persisted(), newer.latest()));
+            } finally {
+                stripe.lock.unlock();
+            }
+        });
+    }
+}
@@ -0,0 +1,112 @@
+package com.majwic.service;
+
+import com.majwic.model.RevokedToken;
+import com.majwic.repository.RevokedTokenRepository;
+import com.majwic.util.BloomFilter;
+import com.majwic.util.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${auth.revocation.expected-revocations:100000}")
+    private int expectedRevocations;
+
+    @Value("${auth.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    // Covers clock skew between instances and the gap between stamping revoked_at and committing the row
+    @Value("${auth.revocation.sync-overlap:PT1M}")
+    private Duration syncOverlap;
+
+    private volatile BloomFilter revokedFilter;
+    private Instant syncedThrough;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository) {
+        this.revokedTokenRepository = revokedTokenRepository;
+    }
+
+    // Almost every token is not revoked and is answered by the filter alone; only filter hits reach the table
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+
+        BloomFilter filter = revokedFilter;
+        if (filter != null && !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        return revokedTokenRepository.existsByTokenId(tokenId);
+    }
+
+    // Not synchronized: the filter is lock-free, and a row committed while a rebuild is publishing is caught by the
+    // sync that follows it
+    public void revoke(VerifiedToken token) {
+        if (token.tokenId() == null || revokedTokenRepository.existsByTokenId(token.tokenId())) {
+            return;
+        }
+
+        try {
+            revokedTokenRepository.save(new RevokedToken(token.tokenId(), token.expiresAt()));
+        } catch (DataIntegrityViolationException _) {
+            // Revoked concurrently by another instance
+        }
+
+        BloomFilter filter = revokedFilter;
+        if (filter != null) {
+            filter.put(token.tokenId());
+        }
+    }
+
+    // The new filter is filled before it is published, so readers never see a partly loaded one
+    @PostConstruct
+    public synchronized void rebuild() {
+        Instant startedAt = Instant.now();
+        BloomFilter filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        revokedTokenRepository.findAllTokenIds().forEach(filter::put);
+
+        revokedFilter = filter;
+        syncedThrough = startedAt;
+        sync();
+    }
+
+    // Picks up revocations written by other instances. Ids are not assigned in commit order, so this reads by
+    // revocation time with an overlap instead of past the highest id seen
+    @Scheduled(
+        initialDelayString = "${auth.revocation.sync-interval:PT15S}",
+        fixedDelayString = "${auth.revocation.sync-interval:PT15S}"
+    )
+    public synchronized void sync() {
+        Instant startedAt = Instant.now();
+        BloomFilter filter = revokedFilter;
+        revokedTokenRepository.findTokenIdsRevokedAfter(syncedThrough.minus(syncOverlap)).forEach(filter::put);
+        syncedThrough = startedAt;
+    }
+
+    // A Bloom filter cannot forget entries, so it is rebuilt from the remaining rows after a purge
+    @Scheduled(
+        initialDelayString = "${auth.revocation.purge-interval:PT1H}",
+        fixedDelayString = "${auth.revocation.purge-interval:PT1H}"
+    )
+    public synchronized void purgeExpired() {
+        int purged = revokedTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Purged {} expired token revocations", purged);
+            rebuild();
+        }
+    }
+}
@@ -113,7 +113,7 @@ public interface AuthDocumentation {
 
     @Operation(
         summary = "Delete Sign-out",
-        description = "Add null and expired JWT token to response cookie"
+        description = "Revoke the current session token and add null and expired JWT token to response cookie"
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -122,6 +122,7 @@ public interface AuthDocumentation {
         )
     })
     ResponseEntity<Void> signout(
+        HttpServletRequest request,
         HttpServletResponse response
     );
 }
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Tag(name = "Comment", description = "Handles comment operations including: creating, reading, updating, and deleting")
 public interface CommentDocumentation {
@@ -33,9 +34,11 @@ public interface CommentDocumentation {
                 schema = @Schema(type = "String"),
                 examples = {
                     @ExampleObject(name = "Without Parent", value = "{\"id\":1,\"content\":" +
-                        "\"Example comment content\",\"likes\":0,\"dislikes\":0,\"postId\":6,\"authorId\":2}"),
+                        "\"Example comment content\",\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                        "\"postId\":6,\"authorId\":2}"),
                     @ExampleObject(name = "With Parent", value = "{\"id\":2,\"content\":\"Example comment content\"," +
-                        "\"likes\":0,\"dislikes\":0,\"postId\":6,\"authorId\":2,\"parentCommentId\":1}")
+                        "\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                        "\"postId\":6,\"authorId\":2,\"parentCommentId\":1}")
                 }
             )
         ),
@@ -121,7 +124,8 @@ public interface CommentDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject("{\"id\":2,\"content\":\"Example comment content\"," +
-                    "\"likes\":0,\"dislikes\":0,\"postId\":6,\"authorId\":2,\"parentCommentId\":1,\"isLiked\":true}")
+                    "\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                    "\"postId\":6,\"authorId\":2,\"parentCommentId\":1,\"isLiked\":true}")
             )
         ),
         @ApiResponse(
@@ -190,7 +194,7 @@ public interface CommentDocumentation {
     })
     ResponseEntity<String> read(
         @PathVariable Long id,
-        HttpServletRequest request
+        @Parameter(hidden = true) Optional<Long> viewerId
     );
 
     // ======================================== GET Comments by Post ======================================== //
@@ -199,7 +203,8 @@ public interface CommentDocumentation {
         summary = "Get Comments by Post",
         description = "Read comments by postId path variable and other specified request parameters<br><br>" +
             "parentCommentID: optionally specify parentComment to search by<br>" +
-            "page: specify what page to retrieve<br>" +
+            "sortBy: specify sorting by likes or replies (reply count)<br>" +
+            "cursor: nextCursor from the previous page, omit for the first page<br>" +
             "size: specify page size (max 20)"
     )
     @ApiResponses(value = {
@@ -210,20 +215,69 @@ public interface CommentDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject("{\"comments\":[{\"id\":2,\"content\":\"Example comment content\"," +
-                    "\"likes\":0,\"dislikes\":0,\"postId\":6,\"authorId\":2,\"parentCommentId\":1,\"isLiked\":true}," +
-                    "{\"id\":3,\"content\":\"Example comment content\",\"likes\":0,\"dislikes\":0,\"postId\":6," +
+                    "\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                    "\"postId\":6,\"authorId\":2,\"parentCommentId\":1,\"isLiked\":true}," +
+                    "{\"id\":3,\"content\":\"Example comment content\",\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                    "\"postId\":6," +
                     "\"authorId\":2,\"parentCommentId\":1,\"isLiked\":false},{\"id\":4,\"content\":" +
-                    "\"Example comment content\",\"likes\":0,\"dislikes\":0,\"postId\":6,\"authorId\":2," +
-                    "\"parentCommentId\":1}]}")
+                    "\"Example comment content\",\"likes\":0,\"dislikes\":0,\"replyCount\":0," +
+                    "\"postId\":6,\"authorId\":2," +
+                    "\"parentCommentId\":1}],\"nextCursor\":null}")
             )
         )
     })
     ResponseEntity<String> readAll(
         @PathVariable Long postId,
         @RequestParam(required = false) Long parentCommentId,
-        @RequestParam int page,
+        @RequestParam(defaultValue = "likes") String sortBy,
+        @RequestParam(required = false) String cursor,
         @RequestParam int size,
-        HttpServletRequest request
+        @Parameter(hidden = true) Optional<Long> viewerId
+    );
+
+    // ======================================== GET Comment Tree by Post ======================================== //
+
+    @Operation(
+        summary = "Get Comment Tree by Post",
+        description = "Read a post's comments as nested replies in one call<br><br>" +
+            "parentCommentId: optionally return only the replies below this comment<br>" +
+            "depth: number of reply levels to include (max 10)<br>" +
+            "fanOut: most-liked replies kept per comment at every level (max 20)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Comment tree read successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "String"),
+                examples = @ExampleObject("{\"comments\":[{\"id\":1,\"content\":\"Example comment content\"," +
+                    "\"likes\":3,\"dislikes\":0,\"postId\":6,\"authorId\":2,\"isLiked\":true,\"replies\":" +
+                    "[{\"id\":2,\"content\":\"Example comment content\",\"likes\":0,\"dislikes\":0," +
+                    "\"postId\":6,\"authorId\":3,\"parentCommentId\":1,\"replies\":[]}]}]}")
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Not Found",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "String"),
+                examples = {
+                    @ExampleObject(name = "Post Not Found", value = "{\"error\":\"NOT_FOUND\",\"message\":" +
+                        "\"Post not found\",\"timestamp\":\"2024-08-26T22:20:21.252888200\"}"),
+                    @ExampleObject(name = "Comment Not Found", value = "{\"error\":\"NOT_FOUND\",\"message\":" +
+                        "\"Comment not found\",\"timestamp\":\"2024-08-26T22:20:21.252888200\"}")
+                }
+            )
+        )
+    })
+    ResponseEntity<String> readTree(
+        @PathVariable Long postId,
+        @RequestParam(required = false) Long parentCommentId,
+        @RequestParam(defaultValue = "3") int depth,
+        @RequestParam(defaultValue = "5") int fanOut,
+        @Parameter(hidden = true) Optional<Long> viewerId
     );
 
     // ======================================== DELETE Comment ======================================== //
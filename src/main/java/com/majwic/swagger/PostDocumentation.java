@@ -1,6 +1,7 @@
 package com.majwic.swagger;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Tag(name = "Post", description = "Handles post operations including: creating, reading, updating, and deleting.")
 public interface PostDocumentation {
@@ -32,7 +34,7 @@ public interface PostDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject("{\"id\":6,\"content\":\"Example post content\",\"likes\":0," +
-                    "\"dislikes\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2}")
+                    "\"dislikes\":0,\"commentCount\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2}")
             )
         ),
         @ApiResponse(
@@ -110,7 +112,8 @@ public interface PostDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject(value = "{\"id\":6,\"content\":\"Example post content\",\"likes\":1," +
-                    "\"dislikes\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2,\"isLiked\":true}")
+                    "\"dislikes\":0,\"commentCount\":0," +
+                    "\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2,\"isLiked\":true}")
             )
         ),
         @ApiResponse(
@@ -162,7 +165,8 @@ public interface PostDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject(value = "{\"id\":6,\"content\":\"Example post content\",\"likes\":1," +
-                    "\"dislikes\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2,\"isLiked\":true}")
+                    "\"dislikes\":0,\"commentCount\":0," +
+                    "\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2,\"isLiked\":true}")
             )
         ),
         @ApiResponse(
@@ -179,7 +183,7 @@ public interface PostDocumentation {
     })
     ResponseEntity<String> read(
         @PathVariable Long id,
-        HttpServletRequest request
+        @Parameter(hidden = true) Optional<Long> viewerId
     );
 
     // ======================================== GET Posts by Tag ======================================== //
@@ -188,9 +192,9 @@ public interface PostDocumentation {
         summary = "Get Posts by Tag",
         description = "Read posts by tag and other specified request parameters<br><br>" +
             "tag: specify a tag<br>" +
-            "sorBy: specify sorting by likes or dislike<br>" +
+            "sortBy: specify sorting by likes, id, new (creation time) or comments (comment count)<br>" +
             "sortDir: specify sorting direction (asc or desc)<br>" +
-            "page: specify what page to retrieve<br>" +
+            "cursor: nextCursor from the previous page, omit for the first page<br>" +
             "size: specify page size (max 20)"
     )
     @ApiResponses(value = {
@@ -201,11 +205,14 @@ public interface PostDocumentation {
                 mediaType = "application/json",
                 schema = @Schema(type = "String"),
                 examples = @ExampleObject("{\"posts\":[{\"id\":6,\"content\":\"Example post content\"," +
-                    "\"likes\":1,\"dislikes\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2," +
+                    "\"likes\":1,\"dislikes\":0,\"commentCount\":0," +
+                    "\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2," +
                     "\"isLiked\":true},{\"id\":7,\"content\":\"Example post content\",\"likes\":0," +
-                    "\"dislikes\":1,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2," +
+                    "\"dislikes\":1,\"commentCount\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2," +
                     "\"isLiked\":false},{\"id\":8,\"content\":\"Example post content\"," +
-                    "\"likes\":0,\"dislikes\":0,\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2}]}")
+                    "\"likes\":0,\"dislikes\":0,\"commentCount\":0," +
+                    "\"tags\":[\"tag1\",\"tag2\",\"tag3\"],\"authorId\":2}]," +
+                    "\"nextCursor\":\"MDo4\"}")
             )
         )
     })
@@ -213,9 +220,40 @@ public interface PostDocumentation {
         @RequestParam(required = false) String tag,
         @RequestParam(defaultValue = "likes") String sortBy,
         @RequestParam(defaultValue = "desc") String sortDir,
-        @RequestParam int page,
+        @RequestParam(required = false) String cursor,
+        @RequestParam int size,
+        @Parameter(hidden = true) Optional<Long> viewerId
+    );
+
+    // ======================================== GET Hot Posts ======================================== //
+
+    @Operation(
+        summary = "Get Hot Posts",
+        description = "Read posts ranked by net votes decayed by age, optionally within a tag<br><br>" +
+            "tag: optionally specify a tag<br>" +
+            "cursor: nextCursor from the previous page, omit for the first page<br>" +
+            "size: specify page size (max 20)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Posts read successfully",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(type = "String"),
+                examples = @ExampleObject("{\"posts\":[{\"id\":7,\"content\":\"Example post content\"," +
+                    "\"likes\":12,\"dislikes\":1,\"commentCount\":3,\"tags\":[\"tag1\",\"tag2\"],\"authorId\":2," +
+                    "\"isLiked\":true},{\"id\":6,\"content\":\"Example post content\",\"likes\":1," +
+                    "\"dislikes\":0,\"commentCount\":0,\"tags\":[\"tag1\"],\"authorId\":2}]," +
+                    "\"nextCursor\":\"NDY4MTk3NjQ4ODA1NjE2MjI0MDo2\"}")
+            )
+        )
+    })
+    ResponseEntity<String> readHot(
+        @RequestParam(required = false) String tag,
+        @RequestParam(required = false) String cursor,
         @RequestParam int size,
-        HttpServletRequest httpServletRequest
+        @Parameter(hidden = true) Optional<Long> viewerId
     );
 
     // ======================================== DELETE Post ======================================== //
@@ -0,0 +1,33 @@
+package com.majwic.util;
+
+import com.majwic.exception.FormatException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record Cursor(long sortKey, long id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public String encode() {
+        return ENCODER.encodeToString((sortKey + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf(':');
+            return new Cursor(
+                Long.parseLong(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException _) {
+            throw new FormatException("The 'cursor' field is invalid");
+        }
+    }
+}
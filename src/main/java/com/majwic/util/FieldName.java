@@ -3,6 +3,7 @@ package com.majwic.util;
 public class FieldName {
     public static final String AUTHOR_ID         = "authorId";
     public static final String COMMENTS          = "comments";
+    public static final String COMMENT_COUNT     = "commentCount";
     public static final String CONTENT           = "content";
     public static final String CURRENT_PASSWORD  = "currentPassword";
     public static final String DISLIKES          = "dislikes";
@@ -13,10 +14,13 @@ public class FieldName {
     public static final String LIKES             = "likes";
     public static final String NAME              = "name";
     public static final String NEW_PASSWORD      = "newPassword";
+    public static final String NEXT_CURSOR       = "nextCursor";
     public static final String PARENT_COMMENT_ID = "parentCommentId";
     public static final String PASSWORD          = "password";
     public static final String POSTS             = "posts";
     public static final String POST_ID           = "postId";
+    public static final String REPLIES           = "replies";
+    public static final String REPLY_COUNT       = "replyCount";
     public static final String ROLES             = "roles";
     public static final String TAGS              = "tags";
 }
@@ -5,6 +5,9 @@ import java.util.List;
 import java.util.Map;
 
 public class JsonBuilder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
     private final Map<String, Object> jsonMap = new LinkedHashMap<>();
 
     public JsonBuilder add(String key, Object value) {
@@ -13,45 +16,24 @@ public class JsonBuilder {
     }
 
     public JsonBuilder add(String key, JsonBuilder nestedBuilder) {
-        jsonMap.put(key, nestedBuilder.jsonMap);
+        jsonMap.put(key, nestedBuilder);
         return this;
     }
 
+    // Nested builders and lists are written into the one buffer; nothing is built per level
     public String build() {
-        return buildJson(jsonMap);
+        StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+        writeTo(new JsonWriter(buffer));
+        return buffer.toString();
     }
 
-    private String buildJson(Object object) {
-        StringBuilder json = new StringBuilder();
-
-        if (object instanceof Map) {
-            json.append("{");
-            ((Map<?, ?>) object).forEach((key, value) -> {
-                json.append("\"").append(key).append("\":").append(buildJson(value)).append(",");
-            });
-            if (json.charAt(json.length() - 1) == ',') {
-                json.deleteCharAt(json.length() - 1);
-            }
-            json.append("}");
-        } else if (object instanceof List) {
-            json.append("[");
-            ((List<?>) object).forEach(item -> json.append(buildJson(item)).append(","));
-            if (json.charAt(json.length() - 1) == ',') {
-                json.deleteCharAt(json.length() - 1);
-            }
-            json.append("]");
-        } else if (object instanceof String) {
-            json.append("\"").append(object).append("\"");
-        } else {
-            json.append(object);
-        }
-
-        return json.toString();
+    void writeTo(JsonWriter writer) {
+        writer.writeObject(jsonMap);
     }
 
     @Override
     public String toString() {
-        return buildJson(jsonMap);
+        return build();
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,124 @@
+package com.majwic.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+// Appends JSON tokens straight into a single StringBuilder, escaping strings as it goes
+public final class JsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Map<String, String> ENCODED_KEYS = encodeFieldNames();
+
+    private final StringBuilder out;
+
+    public JsonWriter(StringBuilder out) {
+        this.out = out;
+    }
+
+    public JsonWriter writeKey(String key) {
+        String encoded = ENCODED_KEYS.get(key);
+        if (encoded != null) {
+            out.append(encoded);
+        } else {
+            writeString(key);
+            out.append(':');
+        }
+        return this;
+    }
+
+    public JsonWriter writeValue(Object value) {
+        switch (value) {
+            case null -> out.append("null");
+            case JsonBuilder builder -> builder.writeTo(this);
+            case Map<?, ?> map -> writeObject(map);
+            case Iterable<?> items -> writeArray(items);
+            case String string -> writeString(string);
+            case Long number -> out.append(number.longValue());
+            case Integer number -> out.append(number.intValue());
+            case Number number -> out.append(number);
+            case Boolean bool -> out.append(bool.booleanValue());
+            default -> writeString(value.toString());
+        }
+        return this;
+    }
+
+    public JsonWriter writeObject(Map<?, ?> map) {
+        out.append('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            writeKey(String.valueOf(entry.getKey()));
+            writeValue(entry.getValue());
+        }
+        out.append('}');
+        return this;
+    }
+
+    public JsonWriter writeArray(Iterable<?> items) {
+        out.append('[');
+        boolean first = true;
+        for (Object item : items) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            writeValue(item);
+        }
+        out.append(']');
+        return this;
+    }
+
+    public JsonWriter writeString(String value) {
+        out.append('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028' && c != '\u2029') {
+                continue;
+            }
+            out.append(value, start, i);
+            start = i + 1;
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                case '\b' -> out.append("\\b");
+                case '\f' -> out.append("\\f");
+                default -> out.append("\\u")
+                    .append(HEX[(c >> 12) & 0xF])
+                    .append(HEX[(c >> 8) & 0xF])
+                    .append(HEX[(c >> 4) & 0xF])
+                    .append(HEX[c & 0xF]);
+            }
+        }
+        out.append(value, start, value.length()).append('"');
+        return this;
+    }
+
+    // === Private Helper Methods === //
+
+    // FieldName keys never change, so their quoted "key": form is built once
+    private static Map<String, String> encodeFieldNames() {
+        Map<String, String> encoded = new HashMap<>();
+        for (Field field : FieldName.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                try {
+                    String key = (String) field.get(null);
+                    StringBuilder quoted = new StringBuilder();
+                    new JsonWriter(quoted).writeString(key);
+                    encoded.put(key, quoted.append(':').toString());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return Map.copyOf(encoded);
+    }
+}
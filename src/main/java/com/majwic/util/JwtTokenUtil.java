@@ -1,41 +1,112 @@
 package com.majwic.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.majwic.exception.UnauthorizedException;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.impl.TextCodec;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.crypto.spec.SecretKeySpec;
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
 public class JwtTokenUtil {
 
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS256;
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
+    // Only successfully verified tokens are cached, each until its own expiration
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(MAX_VERIFIED_TOKENS)
+        .expireAfter(new Expiry<String, VerifiedToken>() {
+            @Override
+            public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                return Math.max(0, Duration.between(Instant.now(), verified.expiresAt()).toNanos());
+            }
+
+            @Override
+            public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                return expireAfterCreate(token, verified, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        })
+        .recordStats()
+        .build();
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     @Value("${jwt.expiration}")
     private long expirationTime;
 
+    private volatile Key signingKey;
+
+    @PostConstruct
+    public void init() {
+        signingKey = deriveSigningKey(secretKey);
+    }
+
     public String generateToken(String userId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userId)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(SignatureAlgorithm.HS256, secretKey)
+                .signWith(ALGORITHM, signingKey)
                 .compact();
     }
 
     public String getUserIdFromToken(String token) {
+        return findUserIdFromToken(token)
+            .orElseThrow(() -> new UnauthorizedException("Session token is invalid"));
+    }
+
+    public Optional<String> findUserIdFromToken(String token) {
+        return verify(token).map(VerifiedToken::subject);
+    }
+
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
         try {
             Claims claims = Jwts.parser()
-                    .setSigningKey(secretKey)
+                    .setSigningKey(signingKey)
                     .parseClaimsJws(token)
                     .getBody();
-            return claims.getSubject();
-        } catch (Exception e) {
-            throw new UnauthorizedException("Session token is invalid");
+
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+
+            VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(), claims.getId(), claims.getExpiration().toInstant());
+            verifiedTokens.put(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException _) {
+            return Optional.empty();
         }
     }
 
@@ -46,6 +117,8 @@ public class JwtTokenUtil {
 
     public void setSecretKey(String secretKey) {
         this.secretKey = secretKey;
+        this.signingKey = deriveSigningKey(secretKey);
+        verifiedTokens.invalidateAll();
     }
 
     public long getExpirationTime() {
@@ -55,4 +128,11 @@ public class JwtTokenUtil {
     public void setExpirationTime(long expirationTime) {
         this.expirationTime = expirationTime;
     }
-}
\ No newline at end of file
+
+    // === Private Helper Methods === //
+
+    // Derived the same way jjwt treats a String secret (Base64-decoded), once per secret rather than per token
+    private static Key deriveSigningKey(String secretKey) {
+        return new SecretKeySpec(TextCodec.BASE64.decode(secretKey), ALGORITHM.getJcaName());
+    }
+}
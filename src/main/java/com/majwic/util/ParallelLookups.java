@@ -0,0 +1,114 @@
+package com.majwic.util;
+
+import com.majwic.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs independent read-side lookups of one request concurrently on virtual threads.
+// A forked lookup runs outside the caller's transaction: it reads its own snapshot and takes its own pooled connection,
+// so a request may hold two while the caller's transaction has one. Fork only lookups that do not depend on what the
+// caller reads, such as the viewer's reaction beside a (usually cached) view
+@Component
+public class ParallelLookups {
+
+    private static final String TIMEOUT_MESSAGE = "Lookup timed out, try again later";
+
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public ParallelLookups(
+        @Value("${lookups.parallel.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+        @Value("${lookups.parallel.timeout:PT5S}") Duration timeout
+    ) {
+        this.executor = enabled ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        this.timeout = timeout;
+    }
+
+    // When disabled the lookup simply runs on join(), in the caller's thread and order
+    public <T> Lookup<T> fork(Supplier<T> lookup) {
+        if (executor == null) {
+            return lookup::get;
+        }
+
+        boolean counted = QueryStats.current() != null;
+        boolean replicaAllowed = ReplicaReads.isAllowed();
+        Future<Result<T>> future = executor.submit(() -> {
+            QueryStats stats = counted ? QueryStats.begin() : null;
+            if (replicaAllowed) {
+                ReplicaReads.allow();
+            }
+            try {
+                return new Result<>(lookup.get(), stats);
+            } finally {
+                QueryStats.end();
+                ReplicaReads.clear();
+            }
+        });
+
+        return new Lookup<>() {
+            @Override
+            public T join() {
+                Result<T> result = await(future);
+                QueryStats stats = QueryStats.current();
+                if (stats != null && result.stats() != null) {
+                    stats.add(result.stats());
+                }
+                return result.value();
+            }
+
+            @Override
+            public void close() {
+                future.cancel(true);
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Used in try-with-resources, so a caller failing before join() cancels the lookup instead of leaving it running
+    @FunctionalInterface
+    public interface Lookup<T> extends AutoCloseable {
+        T join();
+
+        @Override
+        default void close() {
+        }
+    }
+
+    // === Private Helper Methods === //
+
+    private record Result<T>(T value, QueryStats stats) {}
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException _) {
+            future.cancel(true);
+            throw new ServiceUnavailableException(TIMEOUT_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.majwic.util;
+
+import com.majwic.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt runs on its own small pool, which bounds how many hashes compete for CPU at once. Callers still block for
+// their hash; a burst beyond the queue or max-wait is turned away with a 503 instead of piling up
+@Component
+public class PasswordHasher {
+
+    private static final String BUSY_MESSAGE = "Too many password requests, try again later";
+
+    private final int cost;
+    private final Duration maxWait;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHasher(
+        @Value("${password.bcrypt.cost:10}") int cost,
+        @Value("${password.executor.threads:4}") int threads,
+        @Value("${password.executor.queue-capacity:64}") int queueCapacity,
+        @Value("${password.executor.max-wait:PT5S}") Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        this.cost = cost;
+        this.maxWait = maxWait;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hasher-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        this.hashTimer = Timer.builder("password.bcrypt.duration").tag("operation", "hash").register(meterRegistry);
+        this.verifyTimer = Timer.builder("password.bcrypt.duration").tag("operation", "verify").register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.bcrypt.queue.wait").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.bcrypt.rejected").register(meterRegistry);
+        Gauge.builder("password.bcrypt.queue.size", executor, pool -> pool.getQueue().size()).register(meterRegistry);
+    }
+
+    public String hash(String plainPassword) {
+        return submit(hashTimer, () -> BCrypt.hashpw(plainPassword, BCrypt.gensalt(cost)));
+    }
+
+    public boolean verify(String plainPassword, String hashedPassword) {
+        if (costOf(hashedPassword) < 0) {
+            return false;
+        }
+        return submit(verifyTimer, () -> BCrypt.checkpw(plainPassword, hashedPassword));
+    }
+
+    // True when the stored hash was made with a different cost than the one currently configured
+    public boolean needsRehash(String hashedPassword) {
+        int hashCost = costOf(hashedPassword);
+        return hashCost >= 0 && hashCost != cost;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // === Private Helper Methods === //
+
+    // max-wait bounds the time a call spends queued. A caller that gives up first leaves its task unclaimed, so that
+    // hash never runs; once a worker has claimed it, the caller waits for that one run since BCrypt cannot be stopped
+    private <T> T submit(Timer timer, Supplier<T> work) {
+        long queuedAt = System.nanoTime();
+        AtomicBoolean claimed = new AtomicBoolean();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                queueWaitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return timer.record(work);
+            });
+        } catch (RejectedExecutionException _) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        }
+
+        try {
+            try {
+                return future.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException _) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    rejectedCounter.increment();
+                    throw new ServiceUnavailableException(BUSY_MESSAGE);
+                }
+                return future.get();
+            }
+        } catch (InterruptedException _) {
+            claimed.set(true);
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(BUSY_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // BCrypt hashes look like $2a$10$...; anything else was not produced by this hasher
+    private static int costOf(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6));
+        } catch (NumberFormatException _) {
+            return -1;
+        }
+    }
+}
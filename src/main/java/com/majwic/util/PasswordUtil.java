@@ -3,6 +3,7 @@ package com.majwic.util;
 import org.mindrot.jbcrypt.BCrypt;
 import org.springframework.stereotype.Component;
 
+// Inline BCrypt at the library's default cost; request paths go through PasswordHasher instead
 @Component
 public class PasswordUtil {
 
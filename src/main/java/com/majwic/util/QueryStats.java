@@ -0,0 +1,69 @@
+package com.majwic.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Statement count and JDBC time for the work running on the current thread, usually one HTTP request
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statementCount;
+    private long elapsedNanos;
+    private long statementStartNanos;
+
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public void onStatementPrepared(String sql) {
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    public void onStatementStart() {
+        statementStartNanos = System.nanoTime();
+    }
+
+    public void onStatementEnd() {
+        statementCount++;
+        elapsedNanos += System.nanoTime() - statementStartNanos;
+    }
+
+    // Folds in the statements a lookup ran on another thread on behalf of this request
+    public void add(QueryStats other) {
+        statementCount += other.statementCount;
+        elapsedNanos += other.elapsedNanos;
+        other.executionsBySql.forEach((sql, executions) -> executionsBySql.merge(sql, executions, Integer::sum));
+    }
+
+    public int statementCount() {
+        return statementCount;
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    // The same SQL prepared over and over in one request is the signature of an N+1 load
+    public Optional<Map.Entry<String, Integer>> mostRepeatedStatement() {
+        return executionsBySql.entrySet().stream()
+            .max(Map.Entry.comparingByValue());
+    }
+}
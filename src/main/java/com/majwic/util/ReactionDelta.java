@@ -0,0 +1,29 @@
+package com.majwic.util;
+
+public record ReactionDelta(long likes, long dislikes) {
+
+    public static final ReactionDelta NONE = new ReactionDelta(0, 0);
+
+    public static ReactionDelta between(Boolean previousVal, Boolean newVal) {
+        return new ReactionDelta(
+            count(newVal, true) - count(previousVal, true),
+            count(newVal, false) - count(previousVal, false)
+        );
+    }
+
+    public boolean isEmpty() {
+        return likes == 0 && dislikes == 0;
+    }
+
+    public ReactionDelta plus(ReactionDelta other) {
+        return new ReactionDelta(likes + other.likes, dislikes + other.dislikes);
+    }
+
+    public ReactionDelta minus(ReactionDelta other) {
+        return new ReactionDelta(likes - other.likes, dislikes - other.dislikes);
+    }
+
+    private static long count(Boolean likeVal, boolean expected) {
+        return likeVal != null && likeVal == expected ? 1 : 0;
+    }
+}
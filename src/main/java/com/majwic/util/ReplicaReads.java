@@ -0,0 +1,38 @@
+package com.majwic.util;
+
+import java.util.function.Supplier;
+
+// Whether read-only transactions on the current thread may be served by a read replica; off unless a request allows it
+public final class ReplicaReads {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private ReplicaReads() {
+    }
+
+    public static void allow() {
+        ALLOWED.set(Boolean.TRUE);
+    }
+
+    public static boolean isAllowed() {
+        return ALLOWED.get() != null;
+    }
+
+    public static void clear() {
+        ALLOWED.remove();
+    }
+
+    // A transaction keeps the connection of its first statement, so this only steers lookups that run before any other
+    public static <T> T onPrimary(Supplier<T> lookup) {
+        if (!isAllowed()) {
+            return lookup.get();
+        }
+
+        clear();
+        try {
+            return lookup.get();
+        } finally {
+            allow();
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.majwic.util;
 
+import com.majwic.configuration.CacheConfig;
 import com.majwic.exception.ResourceNotFoundException;
 import com.majwic.model.*;
+import com.majwic.projection.CommentView;
+import com.majwic.projection.PostView;
+import com.majwic.projection.ProfileView;
 import com.majwic.repository.*;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -26,17 +31,42 @@ public class ServiceUtil {
     }
 
     public Profile getProfileByIdOrThrow(Long profileId) {
-        return profileRepository.findById(profileId)
+        return profileRepository.findByIdAndDeletedFalse(profileId)
+            .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
+    }
+
+    public String getPasswordHashOrThrow(Long profileId) {
+        return profileRepository.findPasswordById(profileId)
             .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
     }
 
     public Post getPostByIdOrThrow(Long postId) {
-        return postRepository.findById(postId)
+        return postRepository.findByIdAndDeletedFalse(postId)
             .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
     }
 
     public Comment getCommentByIdOrThrow(Long commentId) {
-        return commentRepository.findById(commentId)
+        return commentRepository.findByIdAndDeletedFalse(commentId)
+            .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
+    }
+
+    // The view getters read just the rendered columns; nothing enters the persistence context
+    public ProfileView getProfileViewOrThrow(Long profileId) {
+        return profileRepository.findViewById(profileId)
+            .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
+    }
+
+    // Cached views are served to every reader until evicted, so they are loaded from the primary, never a lagging
+    // replica; each is the first lookup of the reads that use it
+    @Cacheable(value = CacheConfig.POSTS, key = "#postId")
+    public PostView getPostViewOrThrow(Long postId) {
+        return ReplicaReads.onPrimary(() -> postRepository.findViewById(postId))
+            .orElseThrow(() -> new ResourceNotFoundException("Post not found"));
+    }
+
+    @Cacheable(value = CacheConfig.COMMENTS, key = "#commentId")
+    public CommentView getCommentViewOrThrow(Long commentId) {
+        return ReplicaReads.onPrimary(() -> commentRepository.findViewById(commentId))
             .orElseThrow(() -> new ResourceNotFoundException("Comment not found"));
     }
 
@@ -46,7 +76,7 @@ public class ServiceUtil {
     }
 
     public Profile getByEmailOrThrow(String email) {
-        return profileRepository.findByEmail(email)
+        return profileRepository.findByEmailAndDeletedFalse(email)
             .orElseThrow(() -> new ResourceNotFoundException("Profile not found"));
     }
 }
@@ -0,0 +1,80 @@
+package com.majwic.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded ranking of ids by score, highest first. Writers serialize on a lock; pages are read lock-free
+public final class TopK {
+
+    public record Entry(long id, double score) {}
+
+    private static final Comparator<Entry> RANK_ORDER = Comparator.comparingDouble(Entry::score).reversed()
+        .thenComparing(Comparator.comparingLong(Entry::id).reversed());
+
+    private final int capacity;
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(RANK_ORDER);
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public TopK(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    // Inserts or moves the id; once over capacity the lowest entry falls out
+    public void update(long id, double score) {
+        lock.lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                ranking.remove(previous);
+            } else if (entries.size() >= capacity && score <= ranking.last().score()) {
+                return;
+            }
+
+            Entry entry = new Entry(id, score);
+            ranking.add(entry);
+            entries.put(id, entry);
+
+            if (entries.size() > capacity) {
+                Entry lowest = ranking.pollLast();
+                entries.remove(lowest.id());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.lock();
+        try {
+            Entry previous = entries.remove(id);
+            if (previous != null) {
+                ranking.remove(previous);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Entries ranked strictly below the given one, or from the top when after is null
+    public List<Entry> page(Entry after, int limit) {
+        Iterator<Entry> iterator = after == null ?
+            ranking.iterator() : ranking.tailSet(after, false).iterator();
+
+        List<Entry> page = new ArrayList<>(limit);
+        while (page.size() < limit && iterator.hasNext()) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    public int size() {
+        return ranking.size();
+    }
+}
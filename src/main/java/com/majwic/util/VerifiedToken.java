@@ -0,0 +1,10 @@
+package com.majwic.util;
+
+import java.time.Instant;
+
+public record VerifiedToken(String subject, String tokenId, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -4,18 +4,26 @@ import com.majwic.exception.FormatException;
 import com.majwic.exception.ResourceNotFoundException;
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.Profile;
+import com.majwic.repository.ProfileRepository;
 import com.majwic.service.AuthService;
+import com.majwic.service.TokenRevocationService;
 import com.majwic.util.FieldName;
 import com.majwic.util.JwtTokenUtil;
+import com.majwic.util.PasswordHasher;
 import com.majwic.util.PasswordUtil;
 import com.majwic.util.ServiceUtil;
+import com.majwic.util.VerifiedToken;
 import jakarta.servlet.http.Cookie;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,13 +32,18 @@ public class AuthServiceTest {
 
     private JwtTokenUtil jwtTokenUtil;
     private ServiceUtil serviceUtil;
+    private TokenRevocationService tokenRevocationService;
+    private ProfileRepository profileRepository;
     private AuthService authService;
 
     @BeforeEach
     public void setUp() {
         jwtTokenUtil = mock(JwtTokenUtil.class);
         serviceUtil = mock(ServiceUtil.class);
-        authService = new AuthService(jwtTokenUtil, serviceUtil);
+        tokenRevocationService = mock(TokenRevocationService.class);
+        profileRepository = mock(ProfileRepository.class);
+        authService = new AuthService(jwtTokenUtil, serviceUtil, tokenRevocationService,
+            passwordHasher(10), profileRepository);
     }
 
     @Test
@@ -56,6 +69,32 @@ public class AuthServiceTest {
         assertEquals("jwtToken", token);
         verify(serviceUtil).getByEmailOrThrow(email);
         verify(jwtTokenUtil).generateToken(userId.toString());
+        verify(profileRepository, never()).save(any());
+    }
+
+    @Test
+    public void testValidateSignInRehashesWhenCostChanged() {
+        authService = new AuthService(jwtTokenUtil, serviceUtil, tokenRevocationService,
+            passwordHasher(4), profileRepository);
+
+        String email = "test@example.com";
+        String password = "password123";
+        Profile profile = new Profile();
+        profile.setEmail(email);
+        profile.setPassword(PasswordUtil.hashPassword(password));
+        profile.setId(1L);
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put(FieldName.EMAIL, email);
+        requestBody.put(FieldName.PASSWORD, password);
+
+        when(serviceUtil.getByEmailOrThrow(email)).thenReturn(profile);
+
+        authService.validateSignIn(requestBody);
+
+        verify(profileRepository).save(profile);
+        assertTrue(profile.getPassword().startsWith("$2a$04$"));
+        assertTrue(PasswordUtil.verifyPassword(password, profile.getPassword()));
     }
 
     @Test
@@ -99,7 +138,7 @@ public class AuthServiceTest {
         HttpServletRequest request = mock(HttpServletRequest.class);
         Cookie cookie = new Cookie("jwtTokenNamilx", "jwtToken");
         when(request.getCookies()).thenReturn(new Cookie[]{cookie});
-        when(jwtTokenUtil.getUserIdFromToken("jwtToken")).thenReturn("1");
+        when(jwtTokenUtil.verify("jwtToken")).thenReturn(Optional.of(verifiedToken("1", "tokenId")));
 
         Long userId = authService.getUserIdFromCookie(request);
 
@@ -118,6 +157,64 @@ public class AuthServiceTest {
         assertEquals("Session token is missing", exception.getMessage());
     }
 
+    @Test
+    public void testFindUserIdFromCookieSuccess() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Cookie cookie = new Cookie("jwtTokenNamilx", "jwtToken");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(jwtTokenUtil.verify("jwtToken")).thenReturn(Optional.of(verifiedToken("1", "tokenId")));
+
+        assertEquals(Optional.of(1L), authService.findUserIdFromCookie(request));
+    }
+
+    @Test
+    public void testFindUserIdFromCookieAnonymous() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getCookies()).thenReturn(null);
+
+        assertEquals(Optional.empty(), authService.findUserIdFromCookie(request));
+        verifyNoInteractions(jwtTokenUtil);
+    }
+
+    @Test
+    public void testFindUserIdFromCookieInvalidToken() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Cookie cookie = new Cookie("jwtTokenNamilx", "invalidToken");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(jwtTokenUtil.verify("invalidToken")).thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), authService.findUserIdFromCookie(request));
+    }
+
+    @Test
+    public void testGetUserIdFromCookieRevokedToken() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Cookie cookie = new Cookie("jwtTokenNamilx", "jwtToken");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(jwtTokenUtil.verify("jwtToken")).thenReturn(Optional.of(verifiedToken("1", "tokenId")));
+        when(tokenRevocationService.isRevoked("tokenId")).thenReturn(true);
+
+        Exception exception = assertThrows(UnauthorizedException.class, () -> {
+            authService.getUserIdFromCookie(request);
+        });
+
+        assertEquals("Session token is invalid", exception.getMessage());
+        assertEquals(Optional.empty(), authService.findUserIdFromCookie(request));
+    }
+
+    @Test
+    public void testSignOutRevokesToken() {
+        HttpServletRequest request = mock(HttpServletRequest.class);
+        Cookie cookie = new Cookie("jwtTokenNamilx", "jwtToken");
+        VerifiedToken token = verifiedToken("1", "tokenId");
+        when(request.getCookies()).thenReturn(new Cookie[]{cookie});
+        when(jwtTokenUtil.verify("jwtToken")).thenReturn(Optional.of(token));
+
+        authService.signOut(request);
+
+        verify(tokenRevocationService).revoke(token);
+    }
+
     @Test
     public void testValidateProfileExists() {
         Long profileId = 1L;
@@ -140,4 +237,12 @@ public class AuthServiceTest {
 
         assertEquals("Profile not found", exception.getMessage());
     }
+
+    private static PasswordHasher passwordHasher(int cost) {
+        return new PasswordHasher(cost, 2, 10, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    private static VerifiedToken verifiedToken(String subject, String tokenId) {
+        return new VerifiedToken(subject, tokenId, Instant.now().plusSeconds(3600));
+    }
 }
@@ -0,0 +1,291 @@
+package service;
+
+import com.majwic.exception.FormatException;
+import com.majwic.exception.ResourceNotFoundException;
+import com.majwic.model.Comment;
+import com.majwic.model.CommentReaction;
+import com.majwic.model.Post;
+import com.majwic.model.Profile;
+import com.majwic.projection.CommentView;
+import com.majwic.repository.CommentReactionRepository;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ThreadSort;
+import com.majwic.service.CommentService;
+import com.majwic.service.ContentDeletionService;
+import com.majwic.service.ReactionWriteBuffer;
+import com.majwic.util.Cursor;
+import com.majwic.util.ParallelLookups;
+import com.majwic.util.ServiceUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class CommentServiceTest {
+
+    private CommentRepository commentRepository;
+    private CommentReactionRepository commentReactionRepository;
+    private PostRepository postRepository;
+    private PostTagRepository postTagRepository;
+    private ServiceUtil serviceUtil;
+    private ContentDeletionService contentDeletionService;
+    private CommentService commentService;
+
+    @BeforeEach
+    public void setUp() {
+        commentRepository = mock(CommentRepository.class);
+        commentReactionRepository = mock(CommentReactionRepository.class);
+        postRepository = mock(PostRepository.class);
+        postTagRepository = mock(PostTagRepository.class);
+        serviceUtil = mock(ServiceUtil.class);
+        contentDeletionService = mock(ContentDeletionService.class);
+        commentService = new CommentService(commentRepository, commentReactionRepository, postRepository,
+            postTagRepository, serviceUtil, new ParallelLookups(false, Duration.ofSeconds(5)),
+            new ReactionWriteBuffer(mock(JdbcTemplate.class), mock(TransactionTemplate.class), mock(CacheManager.class),
+                false), contentDeletionService);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    public void testReadAllQueryCountIsConstant(int pageSize) {
+        List<Comment> comments = buildComments(pageSize);
+        Comment dislikedComment = comments.getLast();
+
+        when(commentRepository.findThread(eq(1L), isNull(), eq(ThreadSort.LIKES), isNull(), eq(pageSize)))
+            .thenReturn(new SliceImpl<>(views(comments)));
+        when(commentReactionRepository.findByProfileIdAndCommentIdIn(eq(1L), anyCollection()))
+            .thenReturn(List.of(new CommentReaction(dislikedComment, new Profile(), false)));
+
+        String response = commentService.readAll(1L, null, 1L, "likes", null, pageSize);
+
+        assertEquals(2, repositoryInvocations());
+        verify(commentReactionRepository).findByProfileIdAndCommentIdIn(eq(1L), anyCollection());
+        verify(commentReactionRepository, never()).findByCommentIdAndProfileId(any(), any());
+        assertTrue(response.contains("\"id\":" + dislikedComment.getId() + ",\"content\":\"content\",\"likes\":0," +
+            "\"dislikes\":0,\"replyCount\":0,\"isLiked\":false}"));
+    }
+
+    @Test
+    public void testReadAllAnonymousSkipsReactionLookup() {
+        when(commentRepository.findThread(eq(1L), isNull(), eq(ThreadSort.LIKES), isNull(), eq(20)))
+            .thenReturn(new SliceImpl<>(views(buildComments(20))));
+
+        commentService.readAll(1L, null, null, "likes", null, 20);
+
+        assertEquals(1, repositoryInvocations());
+        verifyNoInteractions(commentReactionRepository);
+    }
+
+    @Test
+    public void testReadAllContinuesFromCursor() {
+        List<Comment> comments = buildComments(3);
+        comments.getLast().setLikes(4L);
+        Cursor after = new Cursor(5, 9);
+
+        when(commentRepository.findThread(eq(1L), eq(2L), eq(ThreadSort.LIKES), eq(after), eq(3)))
+            .thenReturn(new SliceImpl<>(views(comments), PageRequest.ofSize(3), true));
+
+        String response = commentService.readAll(1L, 2L, null, "likes", after.encode(), 3);
+
+        assertTrue(response.endsWith(",\"nextCursor\":\"" + new Cursor(4, 3).encode() + "\"}"));
+    }
+
+    @Test
+    public void testReadAllByRepliesPagesOnReplyCount() {
+        List<Comment> comments = buildComments(2);
+        comments.getLast().setReplyCount(6L);
+
+        when(commentRepository.findThread(eq(1L), isNull(), eq(ThreadSort.REPLIES), isNull(), eq(2)))
+            .thenReturn(new SliceImpl<>(views(comments), PageRequest.ofSize(2), true));
+
+        String response = commentService.readAll(1L, null, null, "replies", null, 2);
+
+        assertTrue(response.contains("\"replyCount\":6"));
+        assertTrue(response.endsWith(",\"nextCursor\":\"" + new Cursor(6, 2).encode() + "\"}"));
+    }
+
+    @Test
+    public void testReadAllRejectsUnknownSort() {
+        FormatException exception = assertThrows(FormatException.class,
+            () -> commentService.readAll(1L, null, null, "dislikes", null, 20));
+
+        assertEquals("The 'sortBy' field must be one of: likes, replies", exception.getMessage());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void testCreateReplyBumpsPostAndParentCounts() {
+        Post post = new Post("content", List.of("java"), null);
+        post.setId(1L);
+        Comment parent = new Comment("content", post, null, null);
+        parent.setId(2L);
+        when(serviceUtil.getPostByIdOrThrow(1L)).thenReturn(post);
+        when(serviceUtil.getCommentByIdOrThrow(2L)).thenReturn(parent);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        commentService.create(Map.of("content", "reply", "postId", 1, "parentCommentId", 2), 3L);
+
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(postTagRepository).adjustCommentCount(1L, 1);
+        verify(commentRepository).adjustReplyCount(2L, 1);
+    }
+
+    @Test
+    public void testCreateRootCommentLeavesReplyCountsAlone() {
+        Post post = new Post("content", List.of("java"), null);
+        post.setId(1L);
+        when(serviceUtil.getPostByIdOrThrow(1L)).thenReturn(post);
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        commentService.create(Map.of("content", "root", "postId", 1), 3L);
+
+        verify(postRepository).adjustCommentCount(1L, 1);
+        verify(commentRepository, never()).adjustReplyCount(any(), anyLong());
+    }
+
+    @Test
+    public void testDeleteHidesThreadWithoutLoadingIt() {
+        when(commentRepository.findAuthorIdById(3L)).thenReturn(Optional.of(1L));
+
+        commentService.delete(3L, 1L);
+
+        verify(contentDeletionService).softDeleteCommentTrees(List.of(3L));
+        verify(commentRepository, never()).findById(any());
+        verifyNoInteractions(serviceUtil);
+    }
+
+    @Test
+    public void testReadAllOnDeletedPostIsNotFound() {
+        when(serviceUtil.getPostViewOrThrow(1L)).thenThrow(new ResourceNotFoundException("Post not found"));
+
+        assertThrows(ResourceNotFoundException.class, () -> commentService.readAll(1L, null, null, "likes", null, 20));
+
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void testReadTreeNestsRepliesFromOneQuery() {
+        Comment reacted = buildComments(4).getLast();
+        when(commentRepository.findTree(1L, null, 3, 5)).thenReturn(List.of(
+            view(1, null), view(2, null), view(3, 1L), view(4, 1L), view(5, 3L)));
+        when(commentReactionRepository.findByProfileIdAndCommentIdIn(7L, List.of(1L, 2L, 3L, 4L, 5L)))
+            .thenReturn(List.of(new CommentReaction(reacted, new Profile(), true)));
+
+        String response = commentService.readTree(1L, null, 7L, 3, 5);
+
+        assertEquals("{\"comments\":[" +
+            "{\"id\":1,\"content\":\"c\",\"likes\":0,\"dislikes\":0,\"replyCount\":0,\"postId\":1," +
+                "\"replies\":[" +
+                "{\"id\":3,\"content\":\"c\",\"likes\":0,\"dislikes\":0,\"replyCount\":0,\"postId\":1," +
+                    "\"parentCommentId\":1,\"replies\":[" +
+                    "{\"id\":5,\"content\":\"c\",\"likes\":0,\"dislikes\":0,\"replyCount\":0,\"postId\":1," +
+                    "\"parentCommentId\":3,\"replies\":[]}]}," +
+                "{\"id\":4,\"content\":\"c\",\"likes\":0,\"dislikes\":0,\"replyCount\":0,\"postId\":1," +
+                    "\"parentCommentId\":1,\"isLiked\":true,\"replies\":[]}]}," +
+            "{\"id\":2,\"content\":\"c\",\"likes\":0,\"dislikes\":0,\"replyCount\":0,\"postId\":1," +
+                "\"replies\":[]}]}", response);
+        assertEquals(2, repositoryInvocations());
+    }
+
+    @Test
+    public void testReadTreeBelowCommentClampsDepthAndFanOut() {
+        Comment parent = buildComments(1).getFirst();
+        parent.setPost(new Post("content", List.of(), null));
+        parent.getPost().setId(1L);
+        when(serviceUtil.getCommentByIdOrThrow(1L)).thenReturn(parent);
+        when(commentRepository.findTree(1L, 1L, 10, 20)).thenReturn(List.of(view(6, 1L)));
+
+        String response = commentService.readTree(1L, 1L, null, 50, 50);
+
+        assertTrue(response.startsWith("{\"comments\":[{\"id\":6,"));
+        verifyNoInteractions(commentReactionRepository);
+    }
+
+    @Test
+    public void testFlippingCommentReactionAppliesOneAtomicDelta() {
+        Comment comment = buildComments(1).getFirst();
+        comment.setDislikes(2L);
+        givenStoredReaction(comment, false);
+
+        String response = commentService.reactToComment(comment.getId(), 1L, true);
+
+        verify(commentRepository).adjustReactionCounts(comment.getId(), 1, -1);
+        verify(commentRepository, never()).save(any());
+        assertTrue(response.contains("\"likes\":1,\"dislikes\":1"));
+    }
+
+    @Test
+    public void testFirstCommentReactionIncrementsItsCounter() {
+        Comment comment = buildComments(1).getFirst();
+        when(serviceUtil.getCommentByIdOrThrow(comment.getId())).thenReturn(comment);
+        when(serviceUtil.getProfileByIdOrThrow(1L)).thenReturn(new Profile());
+        when(commentReactionRepository.findByCommentIdAndProfileId(comment.getId(), 1L)).thenReturn(Optional.empty());
+
+        commentService.reactToComment(comment.getId(), 1L, true);
+
+        verify(commentReactionRepository).save(any(CommentReaction.class));
+        verify(commentRepository).adjustReactionCounts(comment.getId(), 1, 0);
+    }
+
+    @Test
+    public void testRepeatingCommentReactionLeavesCountersAlone() {
+        Comment comment = buildComments(1).getFirst();
+        givenStoredReaction(comment, true);
+
+        commentService.reactToComment(comment.getId(), 1L, true);
+
+        verify(commentRepository, never()).adjustReactionCounts(any(), anyLong(), anyLong());
+    }
+
+    // === Private Helper Methods === //
+
+    private static CommentView view(long id, Long parentCommentId) {
+        return new CommentView(id, "c", 0, 0, 0, 1L, null, parentCommentId);
+    }
+
+
+    private void givenStoredReaction(Comment comment, boolean isLike) {
+        when(serviceUtil.getCommentByIdOrThrow(comment.getId())).thenReturn(comment);
+        when(serviceUtil.getProfileByIdOrThrow(1L)).thenReturn(new Profile());
+        when(commentReactionRepository.findByCommentIdAndProfileId(comment.getId(), 1L))
+            .thenReturn(Optional.of(new CommentReaction(comment, new Profile(), isLike)));
+    }
+
+    private int repositoryInvocations() {
+        return mockingDetails(commentRepository).getInvocations().size() +
+            mockingDetails(commentReactionRepository).getInvocations().size();
+    }
+
+    private static List<CommentView> views(List<Comment> comments) {
+        return comments.stream().map(CommentView::of).toList();
+    }
+
+    private static List<Comment> buildComments(int count) {
+        return LongStream.rangeClosed(1, count)
+            .mapToObj(id -> {
+                Comment comment = new Comment("content", null, null, null);
+                comment.setId(id);
+                return comment;
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,100 @@
+package service;
+
+import com.majwic.model.Comment;
+import com.majwic.model.Post;
+import com.majwic.model.Profile;
+import com.majwic.projection.CommentView;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs the native tree query itself; names stand in for ids so the expected trees read top to bottom
+@H2ApplicationTest
+public class CommentTreeQueryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Long, String> names = new HashMap<>();
+    private final Map<String, Long> ids = new HashMap<>();
+    private Long postId;
+
+    @BeforeEach
+    public void setUp() {
+        String tag = "tree" + UUID.randomUUID().toString().substring(0, 8);
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            Profile author = profileRepository.save(new Profile(tag + "@example.com", "hash", "author", List.of()));
+            Post post = postRepository.save(new Post("Post", List.of(tag), author));
+            postId = post.getId();
+
+            Comment a = comment("a", 5, post, null, author);
+            comment("b", 3, post, null, author);
+            comment("c", 1, post, null, author);
+            Comment a1 = comment("a1", 9, post, a, author);
+            comment("a2", 1, post, a, author);
+            comment("a3", 4, post, a, author);
+            Comment a1x = comment("a1x", 2, post, a1, author);
+            comment("a1xy", 2, post, a1x, author);
+            Comment gone = new Comment("gone", post, a, author);
+            gone.setLikes(50L);
+            gone.setDeleted(true);
+            commentRepository.save(gone);
+        });
+    }
+
+    @Test
+    public void testTreeKeepsTopRepliesOfEachParentByLevel() {
+        List<CommentView> tree = commentRepository.findTree(postId, null, 3, 2);
+
+        assertEquals(List.of("a", "b", "a1", "a3", "a1x"), names(tree));
+        assertEquals(ids.get("a"), tree.get(2).parentCommentId());
+    }
+
+    @Test
+    public void testTreeBelowCommentStartsAtItsReplies() {
+        List<CommentView> tree = commentRepository.findTree(postId, ids.get("a"), 2, 5);
+
+        assertEquals(List.of("a1", "a3", "a2", "a1x"), names(tree));
+    }
+
+    @Test
+    public void testTreeStopsAtRequestedDepth() {
+        assertEquals(List.of("a", "b", "c"), names(commentRepository.findTree(postId, null, 1, 5)));
+    }
+
+    // === Private Helper Methods === //
+
+    private Comment comment(String name, long likes, Post post, Comment parent, Profile author) {
+        Comment comment = new Comment(name, post, parent, author);
+        comment.setLikes(likes);
+        commentRepository.save(comment);
+        names.put(comment.getId(), name);
+        ids.put(name, comment.getId());
+        return comment;
+    }
+
+    private List<String> names(List<CommentView> tree) {
+        return tree.stream().map(comment -> names.get(comment.id())).toList();
+    }
+}
@@ -0,0 +1,159 @@
+package service;
+
+import com.majwic.repository.CommentReactionRepository;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ProfileRepository;
+import com.majwic.service.ContentDeletionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class ContentDeletionServiceTest {
+
+    private PostRepository postRepository;
+    private PostReactionRepository postReactionRepository;
+    private PostTagRepository postTagRepository;
+    private CommentRepository commentRepository;
+    private CommentReactionRepository commentReactionRepository;
+    private ProfileRepository profileRepository;
+    private Cache commentCache;
+    private ContentDeletionService contentDeletionService;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        postReactionRepository = mock(PostReactionRepository.class);
+        postTagRepository = mock(PostTagRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        commentReactionRepository = mock(CommentReactionRepository.class);
+        profileRepository = mock(ProfileRepository.class);
+        commentCache = mock(Cache.class);
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(any())).thenReturn(commentCache);
+        contentDeletionService = new ContentDeletionService(postRepository, postReactionRepository,
+            postTagRepository, commentRepository, commentReactionRepository, profileRepository, cacheManager);
+    }
+
+    @Test
+    public void testDeletePostsRemovesChildrenFirst() {
+        List<Long> postIds = List.of(1L, 2L);
+
+        contentDeletionService.deletePosts(postIds);
+
+        InOrder inOrder = inOrder(commentReactionRepository, commentRepository, postReactionRepository,
+            postTagRepository, postRepository);
+        inOrder.verify(commentReactionRepository).bulkDeleteByPostIds(postIds);
+        inOrder.verify(commentRepository).detachRepliesByPostIds(postIds);
+        inOrder.verify(commentRepository).bulkDeleteByPostIds(postIds);
+        inOrder.verify(postReactionRepository).bulkDeleteByPostIds(postIds);
+        inOrder.verify(postTagRepository).bulkDeleteByPostIds(postIds);
+        inOrder.verify(postRepository).bulkDeleteByIds(postIds);
+        verify(postRepository, never()).findAllById(any());
+    }
+
+    @Test
+    public void testDeletePostsSplitsLargeIdSets() {
+        List<Long> postIds = LongStream.rangeClosed(1, 1200).boxed().toList();
+
+        contentDeletionService.deletePosts(postIds);
+
+        verify(postRepository).bulkDeleteByIds(postIds.subList(0, 500));
+        verify(postRepository).bulkDeleteByIds(postIds.subList(500, 1000));
+        verify(postRepository).bulkDeleteByIds(postIds.subList(1000, 1200));
+    }
+
+    @Test
+    public void testSoftDeleteCommentTreesFlagsEveryReply() {
+        when(commentRepository.findIdsByParentIds(List.of(1L))).thenReturn(List.of(2L, 3L));
+        when(commentRepository.findIdsByParentIds(List.of(2L, 3L))).thenReturn(List.of(4L));
+        when(commentRepository.findIdsByParentIds(List.of(4L))).thenReturn(List.of());
+
+        contentDeletionService.softDeleteCommentTrees(List.of(1L));
+
+        verify(commentRepository).markDeleted(List.of(1L));
+        verify(commentRepository).markDeleted(List.of(2L, 3L));
+        verify(commentRepository).markDeleted(List.of(4L));
+        verify(commentCache).evict(4L);
+        verify(commentRepository, never()).bulkDeleteByIds(anyCollection());
+        verifyNoInteractions(commentReactionRepository);
+    }
+
+    @Test
+    public void testSoftDeleteCommentTreesRetractsCountsBeforeFlagging() {
+        when(commentRepository.findPostIdsByIds(List.of(1L))).thenReturn(List.of(9L));
+        when(commentRepository.findParentIdsByIds(List.of(1L))).thenReturn(List.of(8L));
+        when(commentRepository.findIdsByParentIds(List.of(1L))).thenReturn(List.of(2L));
+
+        contentDeletionService.softDeleteCommentTrees(List.of(1L));
+
+        InOrder inOrder = inOrder(commentRepository, postRepository, postTagRepository);
+        inOrder.verify(commentRepository).retractFromReplyCounts(List.of(1L));
+        inOrder.verify(postRepository).retractCommentCounts(List.of(1L));
+        inOrder.verify(postTagRepository).retractCommentCounts(List.of(1L));
+        inOrder.verify(commentRepository).markDeleted(List.of(1L));
+        inOrder.verify(postRepository).retractCommentCounts(List.of(2L));
+        inOrder.verify(commentRepository).markDeleted(List.of(2L));
+        verify(commentRepository, times(1)).retractFromReplyCounts(anyCollection());
+        verify(commentCache).evict(9L);
+        verify(commentCache).evict(8L);
+    }
+
+    @Test
+    public void testSoftDeleteProfileSkipsRepliesAlreadyFlaggedAsRoots() {
+        when(commentRepository.findIdsByAuthorId(1L)).thenReturn(List.of(7L, 8L));
+        when(commentRepository.findIdsByParentIds(List.of(7L, 8L))).thenReturn(List.of(8L));
+
+        contentDeletionService.softDeleteProfile(1L);
+
+        verify(commentRepository).markDeleted(List.of(7L, 8L));
+        verify(commentRepository, times(1)).markDeleted(anyCollection());
+    }
+
+    @Test
+    public void testSoftDeleteProfileFlagsProfileAndContent() {
+        when(commentRepository.findIdsByAuthorId(1L)).thenReturn(List.of(7L));
+        when(commentRepository.findIdsByParentIds(List.of(7L))).thenReturn(List.of());
+
+        contentDeletionService.softDeleteProfile(1L);
+
+        verify(profileRepository).markDeleted(1L);
+        verify(postRepository).markDeletedByAuthorId(1L);
+        verify(commentRepository).markDeleted(List.of(7L));
+        verify(profileRepository, never()).deleteById(any());
+    }
+
+    @Test
+    public void testDeleteCommentsRemovesReactionsFirst() {
+        contentDeletionService.deleteComments(List.of(4L, 5L));
+
+        InOrder inOrder = inOrder(commentReactionRepository, commentRepository);
+        inOrder.verify(commentReactionRepository).bulkDeleteByCommentIds(List.of(4L, 5L));
+        inOrder.verify(commentRepository).bulkDeleteByIds(List.of(4L, 5L));
+    }
+
+    @Test
+    public void testDeleteProfileRetractsReactionsBeforeRemovingIt() {
+        contentDeletionService.deleteProfile(1L);
+
+        InOrder inOrder = inOrder(postTagRepository, postRepository, postReactionRepository,
+            commentRepository, commentReactionRepository, profileRepository);
+        inOrder.verify(postTagRepository).retractLikesOf(1L);
+        inOrder.verify(postRepository).retractReactionsOf(1L);
+        inOrder.verify(postReactionRepository).bulkDeleteByProfileId(1L);
+        inOrder.verify(commentRepository).retractReactionsOf(1L);
+        inOrder.verify(commentReactionRepository).bulkDeleteByProfileId(1L);
+        inOrder.verify(profileRepository).deleteById(1L);
+    }
+}
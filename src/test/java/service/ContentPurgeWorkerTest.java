@@ -0,0 +1,110 @@
+package service;
+
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import com.majwic.service.ContentDeletionService;
+import com.majwic.service.ContentPurgeWorker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ContentPurgeWorkerTest {
+
+    private PostRepository postRepository;
+    private CommentRepository commentRepository;
+    private ProfileRepository profileRepository;
+    private ContentDeletionService contentDeletionService;
+    private SimpleMeterRegistry meterRegistry;
+    private ContentPurgeWorker contentPurgeWorker;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        profileRepository = mock(ProfileRepository.class);
+        contentDeletionService = mock(ContentDeletionService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        contentPurgeWorker = new ContentPurgeWorker(postRepository, commentRepository, profileRepository,
+            contentDeletionService, meterRegistry, 3);
+    }
+
+    @Test
+    public void testPurgeRemovesCommentsBeforePostsBeforeProfiles() {
+        when(commentRepository.existsByDeletedTrue()).thenReturn(true);
+        when(commentRepository.findPurgeableIdsOnDeletedPosts(PageRequest.of(0, 3))).thenReturn(List.of(9L));
+        when(commentRepository.findPurgeableIds(PageRequest.of(0, 2))).thenReturn(List.of());
+        when(postRepository.findPurgeableIds(PageRequest.of(0, 2))).thenReturn(List.of(4L));
+        when(profileRepository.findPurgeableIds(PageRequest.of(0, 1))).thenReturn(List.of(1L));
+
+        contentPurgeWorker.purge();
+
+        InOrder inOrder = inOrder(contentDeletionService);
+        inOrder.verify(contentDeletionService).deleteComments(List.of(9L));
+        inOrder.verify(contentDeletionService).deletePosts(List.of(4L));
+        inOrder.verify(contentDeletionService).deleteProfile(1L);
+        assertEquals(1, removed("comment"));
+        assertEquals(1, removed("post"));
+        assertEquals(1, removed("profile"));
+    }
+
+    @Test
+    public void testPurgeStopsOnceBatchIsUsedUp() {
+        when(commentRepository.existsByDeletedTrue()).thenReturn(true);
+        when(commentRepository.findPurgeableIdsOnDeletedPosts(PageRequest.of(0, 3))).thenReturn(List.of(7L, 8L, 9L));
+
+        contentPurgeWorker.purge();
+
+        verify(contentDeletionService).deleteComments(List.of(7L, 8L, 9L));
+        verify(commentRepository, never()).findPurgeableIds(any());
+        verify(postRepository, never()).findPurgeableIds(any());
+        verify(profileRepository, never()).findPurgeableIds(any());
+    }
+
+    @Test
+    public void testIdlePurgeRunsNoFinders() {
+        contentPurgeWorker.purge();
+
+        verify(commentRepository, never()).findPurgeableIdsOnDeletedPosts(any());
+        verify(commentRepository, never()).findPurgeableIds(any());
+        verify(postRepository, never()).findPurgeableIds(any());
+        verify(profileRepository, never()).findPurgeableIds(any());
+        verify(commentRepository, never()).countByDeletedTrue();
+    }
+
+    @Test
+    public void testFlaggedProfileAloneStillReachesProfileFinder() {
+        when(profileRepository.existsByDeletedTrue()).thenReturn(true);
+        when(profileRepository.findPurgeableIds(PageRequest.of(0, 3))).thenReturn(List.of(5L));
+
+        contentPurgeWorker.purge();
+
+        verify(contentDeletionService).deleteProfile(5L);
+    }
+
+    @Test
+    public void testRefreshPublishesPendingCounts() {
+        when(postRepository.countByDeletedTrue()).thenReturn(2L);
+        when(commentRepository.countByDeletedTrue()).thenReturn(40L);
+
+        contentPurgeWorker.refreshPendingCounts();
+
+        assertEquals(2, meterRegistry.get("content.purge.pending").tag("type", "post").gauge().value());
+        assertEquals(40, meterRegistry.get("content.purge.pending").tag("type", "comment").gauge().value());
+        verifyNoInteractions(contentDeletionService);
+    }
+
+    // === Private Helper Methods === //
+
+    private double removed(String type) {
+        return meterRegistry.get("content.purge.removed").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,118 @@
+package service;
+
+import com.majwic.model.Comment;
+import com.majwic.model.CommentReaction;
+import com.majwic.model.Post;
+import com.majwic.model.PostReaction;
+import com.majwic.model.Profile;
+import com.majwic.repository.CommentReactionRepository;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ProfileRepository;
+import com.majwic.service.ReactionCountReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs the drift queries themselves; counters are pushed off by hand and must come back to the reaction rows
+@H2ApplicationTest
+public class CounterReconcileQueryTest {
+
+    @Autowired
+    private ReactionCountReconciler reconciler;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
+    @Autowired
+    private PostReactionRepository postReactionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReactionRepository commentReactionRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+    private Long commentId;
+
+    @BeforeEach
+    public void setUp() {
+        String tag = "drift" + UUID.randomUUID().toString().substring(0, 8);
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            Post post = postRepository.save(new Post("Post", List.of(tag, tag + "b"), null));
+            postId = post.getId();
+            Comment comment = commentRepository.save(new Comment("Comment", post, null, null));
+            commentId = comment.getId();
+            for (int i = 0; i < 3; i++) {
+                Profile profile = profileRepository.save(
+                    new Profile(tag + i + "@example.com", "hash", "reactor", List.of()));
+                postReactionRepository.save(new PostReaction(post, profile, i < 2));
+                commentReactionRepository.save(new CommentReaction(comment, profile, i == 0));
+            }
+        });
+        transactionTemplate.executeWithoutResult(_ -> {
+            postRepository.adjustReactionCounts(postId, 5, -4);
+            postTagRepository.adjustLikes(postId, 1);
+            commentRepository.adjustReactionCounts(commentId, -3, 7);
+        });
+    }
+
+    @Test
+    public void testReconcileRestoresPostAndTagCounters() {
+        reconciler.reconcile();
+
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT likes FROM post WHERE id = ?", Long.class, postId));
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT dislikes FROM post WHERE id = ?", Long.class, postId));
+        assertEquals(List.of(2L, 2L), jdbcTemplate.queryForList(
+            "SELECT likes FROM post_tag WHERE post_id = ?", Long.class, postId));
+    }
+
+    @Test
+    public void testReconcileRestoresCommentCounters() {
+        reconciler.reconcile();
+
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT likes FROM comment WHERE id = ?", Long.class,
+            commentId));
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT dislikes FROM comment WHERE id = ?", Long.class,
+            commentId));
+    }
+
+    @Test
+    public void testReconcileRestoresCommentAndReplyCounts() {
+        jdbcTemplate.update("UPDATE post SET comment_count = 9 WHERE id = ?", postId);
+        jdbcTemplate.update("UPDATE post_tag SET comment_count = 4 WHERE post_id = ?", postId);
+        jdbcTemplate.update("UPDATE comment SET reply_count = 3 WHERE id = ?", commentId);
+
+        reconciler.reconcile();
+
+        assertEquals(1L, jdbcTemplate.queryForObject("SELECT comment_count FROM post WHERE id = ?", Long.class,
+            postId));
+        assertEquals(List.of(1L, 1L), jdbcTemplate.queryForList(
+            "SELECT comment_count FROM post_tag WHERE post_id = ?", Long.class, postId));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT reply_count FROM comment WHERE id = ?", Long.class,
+            commentId));
+    }
+}
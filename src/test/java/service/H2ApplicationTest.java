@@ -0,0 +1,24 @@
+package service;
+
+import com.majwic.Namilx;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The whole application against its own in-memory H2 database in PostgreSQL mode, for tests that need the real
+// queries to run. Every class carrying it shares one cached context, so tests seed their own rows rather than assume
+// an empty table
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(classes = Namilx.class, properties = {
+    "spring.datasource.url=jdbc:h2:mem:application-test;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.show_sql=false",
+    "reactions.reconcile.initial-delay=PT24H",
+    "logging.level.root=WARN"
+})
+public @interface H2ApplicationTest {
+}
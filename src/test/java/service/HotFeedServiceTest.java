@@ -0,0 +1,90 @@
+package service;
+
+import com.majwic.projection.PostScore;
+import com.majwic.repository.PostRepository;
+import com.majwic.service.HotFeedService;
+import com.majwic.service.PostScoreChanged;
+import com.majwic.util.TopK;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HotFeedServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-08-26T12:00:00Z");
+
+    private PostRepository postRepository;
+    private HotFeedService hotFeedService;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        hotFeedService = new HotFeedService(postRepository, 100, 10, Duration.ofHours(12), Duration.ofDays(7));
+    }
+
+    @Test
+    public void testScoreDecaysTenfoldPerPeriod() {
+        double older = hotFeedService.score(100, 0, NOW);
+        double newer = hotFeedService.score(10, 0, NOW.plus(Duration.ofHours(12)));
+
+        assertEquals(older, newer, 1e-9);
+        assertTrue(hotFeedService.score(11, 0, NOW.plus(Duration.ofHours(12))) > older);
+    }
+
+    @Test
+    public void testEventsMaintainGlobalAndTagRankings() {
+        hotFeedService.onPostScoreChanged(new PostScoreChanged(1, List.of("Java"), 50, 0, NOW));
+        hotFeedService.onPostScoreChanged(new PostScoreChanged(2, List.of("spring"), 5, 0, NOW.plusSeconds(3600)));
+        hotFeedService.onPostScoreChanged(new PostScoreChanged(3, List.of("java"), 0, 0, NOW.plusSeconds(7200)));
+
+        assertEquals(List.of(1L, 2L, 3L), ids(hotFeedService.page(null, null, 10)));
+        assertEquals(List.of(1L, 3L), ids(hotFeedService.page(" JAVA ", null, 10)));
+        assertEquals(List.of(), hotFeedService.page("kotlin", null, 10));
+
+        hotFeedService.onPostScoreChanged(new PostScoreChanged(3, List.of("java"), 500, 0, NOW.plusSeconds(7200)));
+
+        assertEquals(List.of(3L, 1L), ids(hotFeedService.page("java", null, 10)));
+    }
+
+    @Test
+    public void testPageContinuesFromCursor() {
+        for (long id = 1; id <= 3; id++) {
+            hotFeedService.onPostScoreChanged(new PostScoreChanged(id, List.of(), id, 0, NOW));
+        }
+
+        List<TopK.Entry> first = hotFeedService.page(null, null, 1);
+        List<TopK.Entry> second = hotFeedService.page(null, HotFeedService.cursorAfter(first.getLast()), 2);
+
+        assertEquals(List.of(3L), ids(first));
+        assertEquals(List.of(2L, 1L), ids(second));
+    }
+
+    @Test
+    public void testRebuildReplacesRankingsFromDatabase() {
+        hotFeedService.onPostScoreChanged(new PostScoreChanged(9, List.of("java"), 1, 0, NOW));
+        when(postRepository.findScoresCreatedAfter(any(), anyLong(), any())).thenReturn(List.of(
+            new PostScore(1L, 3, 0, NOW, "java,Spring"),
+            new PostScore(2L, 30, 0, NOW, "")));
+
+        hotFeedService.rebuild();
+
+        assertEquals(List.of(2L, 1L), ids(hotFeedService.page(null, null, 10)));
+        assertEquals(List.of(1L), ids(hotFeedService.page("spring", null, 10)));
+    }
+
+    // === Private Helper Methods === //
+
+    private static List<Long> ids(List<TopK.Entry> entries) {
+        return entries.stream().map(TopK.Entry::id).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package service;
+
+import com.majwic.model.Post;
+import com.majwic.model.Profile;
+import com.majwic.projection.PostView;
+import com.majwic.repository.FeedSort;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.repository.ProfileRepository;
+import com.majwic.util.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Pages through real keyset queries. The post_tag copies are pushed out of step with the posts so that a cursor
+// taken from the wrong columns skips or repeats rows
+@H2ApplicationTest
+public class PostFeedQueryTest {
+
+    private static final int POSTS = 9;
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostTagRepository postTagRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String tag;
+    private final List<Long> postIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        tag = "feed" + UUID.randomUUID().toString().substring(0, 8);
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            Profile author = profileRepository.save(new Profile(tag + "@example.com", "hash", "author", List.of()));
+            for (int i = 0; i < POSTS; i++) {
+                Post post = postRepository.save(new Post("Post " + i, List.of(tag), author));
+                postIds.add(post.getId());
+                postRepository.adjustReactionCounts(post.getId(), POSTS - i, 0);
+                postRepository.adjustCommentCount(post.getId(), POSTS - i);
+                postTagRepository.adjustLikes(post.getId(), i % 3);
+                postTagRepository.adjustCommentCount(post.getId(), i % 4);
+            }
+        });
+    }
+
+    @Test
+    public void testTagFeedByLikesPagesWithoutSkipsOrRepeats() {
+        assertEquals(expectedOrder(i -> i % 3), pageThrough(FeedSort.LIKES));
+    }
+
+    @Test
+    public void testTagFeedByCommentsPagesWithoutSkipsOrRepeats() {
+        assertEquals(expectedOrder(i -> i % 4), pageThrough(FeedSort.COMMENTS));
+    }
+
+    // === Private Helper Methods === //
+
+    private List<Long> pageThrough(FeedSort sort) {
+        List<Long> seen = new ArrayList<>();
+        Cursor after = null;
+        for (int page = 0; page <= POSTS; page++) {
+            Cursor cursor = after;
+            Slice<PostView> slice = transactionTemplate.execute(
+                _ -> postRepository.findFeed(tag, sort, false, cursor, PAGE_SIZE));
+            slice.getContent().forEach(post -> seen.add(post.id()));
+            if (!slice.hasNext()) {
+                return seen;
+            }
+            PostView last = slice.getContent().getLast();
+            after = new Cursor(sort.sortKey(last), last.id());
+        }
+        throw new AssertionError("Feed did not end: " + seen);
+    }
+
+    // Descending by the tag copy, newest id first among equals
+    private List<Long> expectedOrder(IntUnaryOperator tagValue) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparingInt((Integer i) -> tagValue.applyAsInt(i)).reversed()
+            .thenComparing(Comparator.comparing((Integer i) -> postIds.get(i)).reversed()));
+        return indexes.stream().map(postIds::get).toList();
+    }
+}
@@ -0,0 +1,370 @@
+package service;
+
+import com.majwic.exception.FormatException;
+import com.majwic.exception.UnauthorizedException;
+import com.majwic.model.Post;
+import com.majwic.model.PostReaction;
+import com.majwic.model.PostTag;
+import com.majwic.model.Profile;
+import com.majwic.projection.PostView;
+import com.majwic.repository.FeedSort;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.service.ContentDeletionService;
+import com.majwic.service.HotFeedService;
+import com.majwic.service.PostScoreChanged;
+import com.majwic.service.PostService;
+import com.majwic.service.ReactionWriteBuffer;
+import com.majwic.util.Cursor;
+import com.majwic.util.ParallelLookups;
+import com.majwic.util.ServiceUtil;
+import com.majwic.util.TopK;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class PostServiceTest {
+
+    private PostRepository postRepository;
+    private PostReactionRepository postReactionRepository;
+    private PostTagRepository postTagRepository;
+    private ServiceUtil serviceUtil;
+    private ContentDeletionService contentDeletionService;
+    private HotFeedService hotFeedService;
+    private ApplicationEventPublisher eventPublisher;
+    private PostService postService;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        postReactionRepository = mock(PostReactionRepository.class);
+        postTagRepository = mock(PostTagRepository.class);
+        serviceUtil = mock(ServiceUtil.class);
+        contentDeletionService = mock(ContentDeletionService.class);
+        hotFeedService = mock(HotFeedService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        postService = new PostService(postRepository, postReactionRepository, postTagRepository, serviceUtil,
+            new ParallelLookups(false, Duration.ofSeconds(5)), reactionWriteBuffer(false), contentDeletionService,
+            hotFeedService, eventPublisher);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    public void testGetPostsByTagQueryCountIsConstant(int pageSize) {
+        List<Post> posts = buildPosts(pageSize);
+        Post likedPost = posts.getFirst();
+
+        when(postRepository.findFeed(eq("java"), eq(FeedSort.LIKES), eq(false), isNull(), eq(pageSize)))
+            .thenReturn(new SliceImpl<>(views(posts)));
+        when(postReactionRepository.findByProfileIdAndPostIdIn(eq(1L), anyCollection()))
+            .thenReturn(List.of(new PostReaction(likedPost, new Profile(), true)));
+
+        String response = postService.getPostsByTag("java", "likes", "desc", null, pageSize, 1L);
+
+        assertEquals(2, repositoryInvocations());
+        verify(postReactionRepository).findByProfileIdAndPostIdIn(eq(1L), anyCollection());
+        verify(postReactionRepository, never()).findByPostIdAndProfileId(any(), any());
+        assertTrue(response.contains("\"id\":" + likedPost.getId() + ",\"content\":\"content\",\"likes\":0," +
+            "\"dislikes\":0,\"commentCount\":0,\"tags\":[\"java\"],\"isLiked\":true}"));
+    }
+
+    @Test
+    public void testGetPostsByTagAnonymousSkipsReactionLookup() {
+        when(postRepository.findFeed(eq("java"), eq(FeedSort.LIKES), eq(false), isNull(), eq(20)))
+            .thenReturn(new SliceImpl<>(views(buildPosts(20))));
+
+        postService.getPostsByTag("java", "likes", "desc", null, 20, null);
+
+        assertEquals(1, repositoryInvocations());
+        verifyNoInteractions(postReactionRepository);
+    }
+
+    @Test
+    public void testGetPostsByTagNormalizesTag() {
+        when(postRepository.findFeed(eq("java"), eq(FeedSort.LIKES), eq(false), isNull(), eq(20)))
+            .thenReturn(new SliceImpl<>(List.of()));
+
+        postService.getPostsByTag("  Java ", "likes", "desc", null, 20, null);
+
+        verify(postRepository).findFeed(eq("java"), eq(FeedSort.LIKES), eq(false), isNull(), eq(20));
+    }
+
+    @Test
+    public void testGetPostsByTagContinuesFromCursor() {
+        List<Post> posts = buildPosts(2);
+        posts.getLast().setLikes(7);
+        Cursor after = new Cursor(9, 12);
+
+        when(postRepository.findFeed(isNull(), eq(FeedSort.LIKES), eq(false), eq(after), eq(2)))
+            .thenReturn(new SliceImpl<>(views(posts), PageRequest.ofSize(2), true));
+
+        String response = postService.getPostsByTag(null, "likes", "desc", after.encode(), 2, null);
+
+        assertTrue(response.endsWith(",\"nextCursor\":\"" + new Cursor(7, 2).encode() + "\"}"));
+    }
+
+    @Test
+    public void testGetPostsByTagNewestCursorCarriesCreationTime() {
+        List<Post> posts = buildPosts(2);
+        posts.getLast().setCreatedAt(Instant.parse("2024-08-26T22:20:21.252888Z"));
+
+        when(postRepository.findFeed(eq("java"), eq(FeedSort.NEW), eq(false), isNull(), eq(2)))
+            .thenReturn(new SliceImpl<>(views(posts), PageRequest.ofSize(2), true));
+
+        String response = postService.getPostsByTag("java", "new", "desc", null, 2, null);
+
+        assertTrue(response.endsWith(",\"nextCursor\":\"" + new Cursor(1724710821252888L, 2).encode() + "\"}"));
+    }
+
+    @Test
+    public void testGetPostsByTagMostCommentedCursorCarriesCommentCount() {
+        List<Post> posts = buildPosts(2);
+        posts.getLast().setCommentCount(11);
+
+        when(postRepository.findFeed(eq("java"), eq(FeedSort.COMMENTS), eq(false), isNull(), eq(2)))
+            .thenReturn(new SliceImpl<>(views(posts), PageRequest.ofSize(2), true));
+
+        String response = postService.getPostsByTag("java", "comments", "desc", null, 2, null);
+
+        assertTrue(response.contains("\"commentCount\":11"));
+        assertTrue(response.endsWith(",\"nextCursor\":\"" + new Cursor(11, 2).encode() + "\"}"));
+    }
+
+    @Test
+    public void testGetPostsByTagLastPageHasNoCursor() {
+        when(postRepository.findFeed(isNull(), eq(FeedSort.ID), eq(true), isNull(), eq(20)))
+            .thenReturn(new SliceImpl<>(views(buildPosts(3))));
+
+        String response = postService.getPostsByTag("", "id", "asc", null, 50, null);
+
+        assertTrue(response.endsWith(",\"nextCursor\":null}"));
+    }
+
+    @Test
+    public void testGetPostsByTagRejectsInvalidCursor() {
+        Exception exception = assertThrows(FormatException.class, () -> {
+            postService.getPostsByTag("java", "likes", "desc", "not-a-cursor", 20, null);
+        });
+
+        assertEquals("The 'cursor' field is invalid", exception.getMessage());
+    }
+
+    @Test
+    public void testGetPostsByTagRejectsUnsortableField() {
+        Exception exception = assertThrows(FormatException.class, () -> {
+            postService.getPostsByTag("java", "content", "desc", null, 20, null);
+        });
+
+        assertEquals("The 'sortBy' field must be one of: likes, id, new, comments", exception.getMessage());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    public void testReadCombinesViewAndViewerReaction(boolean parallel) {
+        postService = new PostService(postRepository, postReactionRepository, postTagRepository, serviceUtil,
+            new ParallelLookups(parallel, Duration.ofSeconds(5)), reactionWriteBuffer(false), contentDeletionService,
+            hotFeedService, eventPublisher);
+        Post post = buildPosts(1).getFirst();
+
+        when(serviceUtil.getPostViewOrThrow(post.getId())).thenReturn(PostView.of(post));
+        when(postReactionRepository.findByPostIdAndProfileId(post.getId(), 1L))
+            .thenReturn(Optional.of(new PostReaction(post, new Profile(), false)));
+
+        String response = postService.read(post.getId(), 1L);
+
+        assertTrue(response.endsWith("\"tags\":[\"java\"],\"isLiked\":false}"));
+    }
+
+    @Test
+    public void testBufferedReactionDefersWritesAndProjectsCounts() {
+        postService = new PostService(postRepository, postReactionRepository, postTagRepository, serviceUtil,
+            new ParallelLookups(false, Duration.ofSeconds(5)), reactionWriteBuffer(true), contentDeletionService,
+            hotFeedService, eventPublisher);
+        Post post = buildPosts(1).getFirst();
+
+        when(serviceUtil.getPostViewOrThrow(post.getId())).thenReturn(PostView.of(post));
+        when(postReactionRepository.findByPostIdAndProfileId(post.getId(), 1L)).thenReturn(Optional.empty());
+
+        postService.reactToPost(post.getId(), 1L, false);
+        String response = postService.reactToPost(post.getId(), 1L, true);
+
+        assertTrue(response.contains("\"likes\":1,\"dislikes\":0"));
+        assertTrue(response.endsWith("\"isLiked\":true}"));
+        assertTrue(postService.read(post.getId(), 1L).endsWith("\"isLiked\":true}"));
+        verify(postReactionRepository, times(1)).findByPostIdAndProfileId(post.getId(), 1L);
+        verify(postReactionRepository, never()).save(any());
+        verify(postRepository, never()).adjustReactionCounts(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testGetHotPostsHydratesRankedPageInOrder() {
+        List<Post> posts = buildPosts(3);
+        List<TopK.Entry> ranked = List.of(new TopK.Entry(3, 9.0), new TopK.Entry(1, 8.0), new TopK.Entry(2, 7.0));
+
+        when(hotFeedService.page(eq("java"), isNull(), eq(3))).thenReturn(ranked);
+        when(postRepository.findViewsByIdIn(List.of(3L, 1L)))
+            .thenReturn(views(List.of(posts.get(0), posts.get(2))));
+
+        String response = postService.getHotPosts("java", null, 2, null);
+
+        assertTrue(response.startsWith("{\"posts\":[{\"id\":3,"));
+        assertTrue(response.contains("},{\"id\":1,"));
+        assertTrue(response.endsWith(",\"nextCursor\":\"" +
+            HotFeedService.cursorAfter(ranked.get(1)).encode() + "\"}"));
+        verify(postRepository, times(1)).findViewsByIdIn(any());
+    }
+
+    @Test
+    public void testGetHotPostsEvictsDeletedPosts() {
+        when(hotFeedService.page(isNull(), isNull(), eq(21))).thenReturn(List.of(new TopK.Entry(4, 1.0)));
+        when(postRepository.findViewsByIdIn(List.of(4L))).thenReturn(List.of());
+
+        String response = postService.getHotPosts(null, null, 20, null);
+
+        assertEquals("{\"posts\":[],\"nextCursor\":null}", response);
+        verify(hotFeedService).evict(List.of(4L));
+    }
+
+    @Test
+    public void testReactToPostPublishesScoreChange() {
+        Post post = buildPosts(1).getFirst();
+        when(serviceUtil.getPostByIdOrThrow(post.getId())).thenReturn(post);
+        when(serviceUtil.getProfileByIdOrThrow(1L)).thenReturn(new Profile());
+        when(postReactionRepository.findByPostIdAndProfileId(post.getId(), 1L)).thenReturn(Optional.empty());
+
+        postService.reactToPost(post.getId(), 1L, true);
+
+        verify(eventPublisher).publishEvent(
+            new PostScoreChanged(post.getId(), List.of("java"), 1, 0, post.getCreatedAt()));
+    }
+
+    @Test
+    public void testFlippingReactionMovesOneLikeToDislike() {
+        Post post = buildPosts(1).getFirst();
+        post.setLikes(3L);
+        givenStoredReaction(post, true);
+
+        String response = postService.reactToPost(post.getId(), 1L, false);
+
+        verify(postRepository).adjustReactionCounts(post.getId(), -1, 1);
+        verify(postTagRepository).adjustLikes(post.getId(), -1);
+        assertTrue(response.contains("\"likes\":2,\"dislikes\":1"));
+    }
+
+    @Test
+    public void testRemovingReactionDecrementsItsCounter() {
+        Post post = buildPosts(1).getFirst();
+        post.setDislikes(1L);
+        PostReaction reaction = givenStoredReaction(post, false);
+
+        postService.reactToPost(post.getId(), 1L, null);
+
+        verify(postReactionRepository).delete(reaction);
+        verify(postRepository).adjustReactionCounts(post.getId(), 0, -1);
+        verify(postTagRepository, never()).adjustLikes(any(), anyLong());
+    }
+
+    @Test
+    public void testRepeatingReactionLeavesCountersAlone() {
+        Post post = buildPosts(1).getFirst();
+        givenStoredReaction(post, true);
+
+        postService.reactToPost(post.getId(), 1L, true);
+
+        verify(postRepository, never()).adjustReactionCounts(any(), anyLong(), anyLong());
+        verify(postTagRepository, never()).adjustLikes(any(), anyLong());
+        verify(eventPublisher, never()).publishEvent(any(PostScoreChanged.class));
+    }
+
+    @Test
+    public void testDeleteHidesPostAndLeavesRemovalToPurge() {
+        when(postRepository.findAuthorIdById(4L)).thenReturn(Optional.of(1L));
+
+        postService.delete(1L, 4L);
+
+        verify(contentDeletionService).softDeletePosts(List.of(4L));
+        verify(contentDeletionService, never()).deletePosts(any());
+        verify(hotFeedService).evict(List.of(4L));
+        verify(postRepository, never()).delete(any());
+    }
+
+    @Test
+    public void testDeleteRejectsOtherAuthor() {
+        when(postRepository.findAuthorIdById(4L)).thenReturn(Optional.of(2L));
+
+        Exception exception = assertThrows(UnauthorizedException.class, () -> {
+            postService.delete(1L, 4L);
+        });
+
+        assertEquals("Post does not belong to profile.", exception.getMessage());
+        verifyNoInteractions(contentDeletionService);
+    }
+
+    @Test
+    public void testSetTagsSyncsNormalizedPostTags() {
+        Post post = new Post("content", List.of("Java", "spring"), null);
+
+        post.setTags(List.of("spring", " JAVA ", "jvm"));
+
+        assertEquals(Set.of("java", "spring", "jvm"), post.getPostTags().stream()
+            .map(PostTag::getTag)
+            .collect(Collectors.toSet()));
+    }
+
+    // === Private Helper Methods === //
+
+    private static ReactionWriteBuffer reactionWriteBuffer(boolean enabled) {
+        return new ReactionWriteBuffer(mock(JdbcTemplate.class), mock(TransactionTemplate.class),
+            mock(CacheManager.class), enabled);
+    }
+
+    private PostReaction givenStoredReaction(Post post, boolean isLike) {
+        PostReaction reaction = new PostReaction(post, new Profile(), isLike);
+        when(serviceUtil.getPostByIdOrThrow(post.getId())).thenReturn(post);
+        when(serviceUtil.getProfileByIdOrThrow(1L)).thenReturn(new Profile());
+        when(postReactionRepository.findByPostIdAndProfileId(post.getId(), 1L)).thenReturn(Optional.of(reaction));
+        return reaction;
+    }
+
+    private int repositoryInvocations() {
+        return mockingDetails(postRepository).getInvocations().size() +
+            mockingDetails(postTagRepository).getInvocations().size() +
+            mockingDetails(postReactionRepository).getInvocations().size();
+    }
+
+    private static List<PostView> views(List<Post> posts) {
+        return posts.stream().map(PostView::of).toList();
+    }
+
+    private static List<Post> buildPosts(int count) {
+        return LongStream.rangeClosed(1, count)
+            .mapToObj(id -> {
+                Post post = new Post("content", List.of("java"), null);
+                post.setId(id);
+                return post;
+            })
+            .toList();
+    }
+}
@@ -4,14 +4,22 @@ import com.majwic.exception.ConflictException;
 import com.majwic.exception.UnauthorizedException;
 import com.majwic.model.Profile;
 import com.majwic.model.Role;
+import com.majwic.projection.ProfileView;
+import com.majwic.projection.RoleView;
 import com.majwic.repository.ProfileRepository;
+import com.majwic.service.ContentDeletionService;
 import com.majwic.service.ProfileService;
 import com.majwic.util.FieldName;
+import com.majwic.util.PasswordHasher;
 import com.majwic.util.PasswordUtil;
 import com.majwic.util.ServiceUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,35 +33,46 @@ public class ProfileServiceTest {
 
     private ProfileRepository profileRepository;
     private ServiceUtil serviceUtil;
+    private ContentDeletionService contentDeletionService;
+    private PlatformTransactionManager transactionManager;
     private ProfileService profileService;
 
     @BeforeEach
     public void setUp() {
         profileRepository = mock(ProfileRepository.class);
         serviceUtil = mock(ServiceUtil.class);
-        profileService = new ProfileService(profileRepository, serviceUtil);
+        contentDeletionService = mock(ContentDeletionService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        PasswordHasher passwordHasher = new PasswordHasher(10, 2, 10, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        profileService = new ProfileService(profileRepository, serviceUtil, passwordHasher,
+            contentDeletionService, new TransactionTemplate(transactionManager));
     }
 
     @Test
     public void testRead() {
         Long profileId = 1L;
-        Profile profile = new Profile();
-        profile.setId(profileId);
-        profile.setDisplayName("John Doe");
-        profile.setEmail("test@example.com");
-
-        Role role = new Role();
-        role.setId(1L);
-        role.setName("USER");
-        profile.setRoles(List.of(role));
-
-        when(serviceUtil.getProfileByIdOrThrow(profileId)).thenReturn(profile);
+        when(serviceUtil.getProfileViewOrThrow(profileId))
+            .thenReturn(new ProfileView(profileId, "John Doe", "test@example.com"));
+        when(profileRepository.findRoleViewsByProfileId(profileId)).thenReturn(List.of(new RoleView(1L, "USER")));
 
         String response = profileService.read(profileId, true);
 
-        String expectedResponse = "{\"id\":1,\"displayName\":\"John Doe\",\"email\":\"test@example.com\",\"roles\":" +
-            "[{\"id\":1,\"name\":\"USER\"}]}";
+        String expectedResponse = "{\"id\":1,\"displayName\":\"John Doe\",\"email\":\"test@example.com\"," +
+            "\"roles\":[{\"id\":1,\"name\":\"USER\"}]}";
         assertEquals(expectedResponse, response);
+        verify(serviceUtil, never()).getProfileByIdOrThrow(any());
+    }
+
+    @Test
+    public void testReadWithoutCredentialsSkipsRoles() {
+        Long profileId = 1L;
+        when(serviceUtil.getProfileViewOrThrow(profileId))
+            .thenReturn(new ProfileView(profileId, "John Doe", "test@example.com"));
+
+        String response = profileService.read(profileId, false);
+
+        assertEquals("{\"id\":1,\"displayName\":\"John Doe\"}", response);
+        verify(profileRepository, never()).findRoleViewsByProfileId(any());
     }
 
     @Test
@@ -115,6 +134,7 @@ public class ProfileServiceTest {
         role.setName("USER");
         profile.setRoles(List.of(role));
 
+        when(serviceUtil.getPasswordHashOrThrow(profileId)).thenReturn(profile.getPassword());
         when(serviceUtil.getProfileByIdOrThrow(profileId)).thenReturn(profile);
         when(profileRepository.save(any(Profile.class))).thenReturn(profile);
 
@@ -134,6 +154,28 @@ public class ProfileServiceTest {
         profile.setId(profileId);
         profile.setPassword(PasswordUtil.hashPassword("correctPassword"));
 
+        when(serviceUtil.getPasswordHashOrThrow(profileId)).thenReturn(profile.getPassword());
+
+        Exception exception = assertThrows(UnauthorizedException.class, () -> {
+            profileService.update(profileId, requestBody);
+        });
+
+        assertEquals("The 'currentPassword' field is incorrect", exception.getMessage());
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    @Test
+    public void testUpdateRejectsPasswordChangedSinceVerification() {
+        Long profileId = 1L;
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put(FieldName.CURRENT_PASSWORD, "currentPassword1");
+        requestBody.put(FieldName.DISPLAY_NAME, "New Display Name");
+
+        Profile profile = new Profile();
+        profile.setId(profileId);
+        profile.setPassword(PasswordUtil.hashPassword("changedPassword1"));
+
+        when(serviceUtil.getPasswordHashOrThrow(profileId)).thenReturn(PasswordUtil.hashPassword("currentPassword1"));
         when(serviceUtil.getProfileByIdOrThrow(profileId)).thenReturn(profile);
 
         Exception exception = assertThrows(UnauthorizedException.class, () -> {
@@ -141,6 +183,7 @@ public class ProfileServiceTest {
         });
 
         assertEquals("The 'currentPassword' field is incorrect", exception.getMessage());
+        verify(profileRepository, never()).save(any());
     }
 
     @Test
@@ -152,11 +195,13 @@ public class ProfileServiceTest {
         profile.setId(profileId);
         profile.setPassword(PasswordUtil.hashPassword(password));
 
+        when(serviceUtil.getPasswordHashOrThrow(profileId)).thenReturn(profile.getPassword());
         when(serviceUtil.getProfileByIdOrThrow(profileId)).thenReturn(profile);
 
         profileService.delete(profileId, password);
 
-        verify(profileRepository).delete(profile);
+        verify(contentDeletionService).softDeleteProfile(profileId);
+        verify(profileRepository, never()).delete(any());
     }
 
     @Test
@@ -168,12 +213,14 @@ public class ProfileServiceTest {
         profile.setId(profileId);
         profile.setPassword(PasswordUtil.hashPassword("correctPassword"));
 
-        when(serviceUtil.getProfileByIdOrThrow(profileId)).thenReturn(profile);
+        when(serviceUtil.getPasswordHashOrThrow(profileId)).thenReturn(profile.getPassword());
 
         Exception exception = assertThrows(UnauthorizedException.class, () -> {
             profileService.delete(profileId, password);
         });
 
         assertEquals("Incorrect password", exception.getMessage());
+        verifyNoInteractions(contentDeletionService);
+        verify(transactionManager, never()).getTransaction(any());
     }
 }
@@ -0,0 +1,91 @@
+package service;
+
+import com.majwic.projection.CounterDrift;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.PostTagRepository;
+import com.majwic.service.ReactionCountReconciler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ReactionCountReconcilerTest {
+
+    private PostRepository postRepository;
+    private PostTagRepository postTagRepository;
+    private CommentRepository commentRepository;
+    private ReactionCountReconciler reconciler;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        postTagRepository = mock(PostTagRepository.class);
+        commentRepository = mock(CommentRepository.class);
+        reconciler = new ReactionCountReconciler(postRepository, postTagRepository, commentRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(reconciler, "batchSize", 100L);
+    }
+
+    @Test
+    public void testPostCountersAreRepairedInIdRangeBatches() {
+        when(postRepository.findMaxId()).thenReturn(250L);
+
+        reconciler.reconcile();
+
+        verify(postRepository).findReactionCountDrift(0, 100);
+        verify(postRepository).findReactionCountDrift(100, 200);
+        verify(postRepository).findReactionCountDrift(200, 250);
+        verify(postRepository, times(3)).findReactionCountDrift(anyLong(), anyLong());
+        verify(postTagRepository).findLikesDrift(200, 250);
+    }
+
+    @Test
+    public void testPostDriftIsAddedAsDeltaRatherThanOverwritten() {
+        when(postRepository.findMaxId()).thenReturn(10L);
+        when(postRepository.findReactionCountDrift(0, 10)).thenReturn(List.of(new CounterDrift(4L, 2, -1)));
+        when(postTagRepository.findLikesDrift(0, 10)).thenReturn(List.of(new CounterDrift(40L, -3)));
+
+        reconciler.reconcile();
+
+        verify(postRepository).adjustReactionCounts(4L, 2, -1);
+        verify(postTagRepository).adjustLikesById(40L, -3);
+    }
+
+    @Test
+    public void testCommentCountersFollowTheCommentIdRange() {
+        when(postRepository.findMaxId()).thenReturn(50L);
+        when(commentRepository.findMaxId()).thenReturn(150L);
+
+        reconciler.reconcile();
+
+        verify(commentRepository).findReactionCountDrift(0, 100);
+        verify(commentRepository).findReactionCountDrift(100, 150);
+        verify(commentRepository, times(2)).findReactionCountDrift(anyLong(), anyLong());
+    }
+
+    @Test
+    public void testCommentDriftIsAddedAsDelta() {
+        when(commentRepository.findMaxId()).thenReturn(10L);
+        when(commentRepository.findReactionCountDrift(0, 10)).thenReturn(List.of(new CounterDrift(7L, -1, 3)));
+
+        reconciler.reconcile();
+
+        verify(commentRepository).adjustReactionCounts(7L, -1, 3);
+    }
+
+    @Test
+    public void testEmptyTableRunsNoBatches() {
+        reconciler.reconcile();
+
+        verify(postRepository, never()).findReactionCountDrift(anyLong(), anyLong());
+        verify(postTagRepository, never()).findLikesDrift(anyLong(), anyLong());
+        verify(commentRepository, never()).findReactionCountDrift(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,206 @@
+package service;
+
+import com.majwic.configuration.CacheConfig;
+import com.majwic.service.ReactionWriteBuffer;
+import com.majwic.service.ReactionWriteBuffer.Target;
+import com.majwic.util.ReactionDelta;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ReactionWriteBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Cache postsCache;
+    private ReactionWriteBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        postsCache = mock(Cache.class);
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(CacheConfig.POSTS)).thenReturn(postsCache);
+
+        buffer = new ReactionWriteBuffer(jdbcTemplate,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), cacheManager, true);
+    }
+
+    @Test
+    public void testTogglesCoalesceIntoOneUpsertAndCounterDelta() {
+        AtomicInteger lookups = new AtomicInteger();
+        Supplier<Boolean> noStoredReaction = () -> {
+            lookups.incrementAndGet();
+            return null;
+        };
+
+        buffer.react(Target.POST, 1L, 2L, true, noStoredReaction);
+        buffer.react(Target.POST, 1L, 2L, false, noStoredReaction);
+        ReactionDelta pending = buffer.react(Target.POST, 1L, 2L, true, noStoredReaction);
+        buffer.react(Target.POST, 1L, 3L, false, () -> true);
+
+        assertEquals(1, lookups.get());
+        assertEquals(new ReactionDelta(1, 0), pending);
+        assertEquals(new ReactionDelta(0, 1), buffer.pendingDelta(Target.POST, 1L));
+
+        buffer.flush();
+
+        assertEquals(Set.of(List.of(2L, 1L, true), List.of(3L, 1L, false)),
+            Set.copyOf(batchRows("MERGE INTO post_reaction")));
+        assertEquals(List.of(List.of(0L, 1L, 1L)), batchRows("UPDATE post SET"));
+        assertTrue(batchRows("UPDATE post_tag").isEmpty());
+        assertEquals(ReactionDelta.NONE, buffer.pendingDelta(Target.POST, 1L));
+        assertFalse(buffer.pending(Target.POST, 1L, 2L).isPresent());
+        verify(postsCache).evict(1L);
+    }
+
+    @Test
+    public void testReturningToStoredReactionWritesNothing() {
+        buffer.react(Target.POST, 1L, 2L, null, () -> true);
+        buffer.react(Target.POST, 1L, 2L, true, () -> true);
+
+        buffer.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertEquals(ReactionDelta.NONE, buffer.pendingDelta(Target.POST, 1L));
+    }
+
+    @Test
+    public void testRemovedReactionIsBatchedAsDelete() {
+        buffer.react(Target.COMMENT, 5L, 2L, null, () -> false);
+
+        buffer.flush();
+
+        assertEquals(List.of(List.of(2L, 5L)), batchRows("DELETE FROM comment_reaction"));
+        assertEquals(List.of(List.of(0L, -1L, 5L)), batchRows("UPDATE comment SET"));
+    }
+
+    @Test
+    public void testFailedFlushKeepsEntriesForTheNextOne() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        buffer.react(Target.POST, 1L, 2L, true, () -> null);
+
+        buffer.flush();
+
+        assertEquals(new ReactionDelta(1, 0), buffer.pendingDelta(Target.POST, 1L));
+        assertEquals(Boolean.TRUE, buffer.pending(Target.POST, 1L, 2L).orElseThrow().latest());
+
+        buffer.react(Target.POST, 1L, 2L, false, () -> null);
+        reset(jdbcTemplate);
+        buffer.flush();
+
+        assertEquals(List.of(List.of(2L, 1L, false)), batchRows("MERGE INTO post_reaction"));
+        assertEquals(List.of(List.of(0L, 1L, 1L)), batchRows("UPDATE post SET"));
+        assertEquals(ReactionDelta.NONE, buffer.pendingDelta(Target.POST, 1L));
+    }
+
+    @Test
+    public void testTransactionFailureRequeuesEntriesAndReleasesFlushing() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any()))
+            .thenThrow(new CannotCreateTransactionException("Pool exhausted"));
+        CacheManager cacheManager = mock(CacheManager.class);
+        ReactionWriteBuffer failing = new ReactionWriteBuffer(jdbcTemplate,
+            new TransactionTemplate(transactionManager), cacheManager, true);
+        failing.react(Target.POST, 1L, 2L, true, () -> null);
+
+        failing.flush();
+
+        assertEquals(new ReactionDelta(1, 0), failing.pendingDelta(Target.POST, 1L));
+        assertEquals(Boolean.TRUE, failing.pending(Target.POST, 1L, 2L).orElseThrow().latest());
+
+        reset(transactionManager);
+        failing.flush();
+
+        assertEquals(List.of(List.of(2L, 1L, true)), batchRows("MERGE INTO post_reaction"));
+        assertEquals(ReactionDelta.NONE, failing.pendingDelta(Target.POST, 1L));
+        assertFalse(failing.pending(Target.POST, 1L, 2L).isPresent());
+    }
+
+    @Test
+    public void testCompletedFlushDropsPendingDeltaBeforeEvicting() {
+        ReactionDelta[] deltaAtEviction = new ReactionDelta[1];
+        doAnswer(_ -> deltaAtEviction[0] = buffer.pendingDelta(Target.POST, 1L)).when(postsCache).evict(1L);
+        buffer.react(Target.POST, 1L, 2L, true, () -> null);
+
+        buffer.flush();
+
+        assertEquals(ReactionDelta.NONE, deltaAtEviction[0]);
+        verify(postsCache).evict(1L);
+    }
+
+    @Test
+    public void testDiscardDropsDeletedTarget() {
+        buffer.react(Target.POST, 1L, 2L, true, () -> null);
+
+        buffer.discard(Target.POST, 1L);
+        buffer.flush();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        assertEquals(ReactionDelta.NONE, buffer.pendingDelta(Target.POST, 1L));
+    }
+
+    // Runs the generated SQL against H2; post 2 is deleted while its reaction is still buffered
+    @Test
+    public void testFlushSkipsTargetDeletedWhileBuffered() {
+        JdbcTemplate database = new JdbcTemplate(new DriverManagerDataSource(
+            "jdbc:h2:mem:reaction_write_buffer;DB_CLOSE_DELAY=-1", "sa", ""));
+        database.execute("DROP ALL OBJECTS");
+        database.execute("CREATE TABLE post (id BIGINT PRIMARY KEY, likes BIGINT, dislikes BIGINT, deleted BOOLEAN)");
+        database.execute("CREATE TABLE post_reaction (id BIGINT PRIMARY KEY, profile_id BIGINT, post_id BIGINT, " +
+            "is_like BOOLEAN, UNIQUE (profile_id, post_id))");
+        database.execute("CREATE TABLE post_tag (post_id BIGINT, likes BIGINT)");
+        database.execute("CREATE SEQUENCE post_reaction_seq");
+        database.update("INSERT INTO post VALUES (1, 0, 0, false), (2, 0, 0, false)");
+        ReactionWriteBuffer live = new ReactionWriteBuffer(database,
+            new TransactionTemplate(new DataSourceTransactionManager(database.getDataSource())),
+            mock(CacheManager.class), true);
+
+        live.react(Target.POST, 1L, 7L, true, () -> null);
+        live.react(Target.POST, 2L, 7L, true, () -> null);
+        database.update("UPDATE post SET deleted = true WHERE id = 2");
+        live.flush();
+
+        assertEquals(List.of(1L), database.queryForList("SELECT post_id FROM post_reaction", Long.class));
+        assertEquals(List.of(1L, 0L), database.queryForList("SELECT likes FROM post ORDER BY id", Long.class));
+    }
+
+    // === Private Helper Methods === //
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<List<Object>> batchRows(String sqlPrefix) {
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass((Class) List.class);
+        verify(jdbcTemplate, atLeast(0)).batchUpdate(sql.capture(), rows.capture());
+
+        List<List<Object>> matching = new ArrayList<>();
+        for (int i = 0; i < sql.getAllValues().size(); i++) {
+            if (sql.getAllValues().get(i).startsWith(sqlPrefix)) {
+                rows.getAllValues().get(i).forEach(row -> matching.add(Arrays.asList(row)));
+            }
+        }
+        return matching;
+    }
+}
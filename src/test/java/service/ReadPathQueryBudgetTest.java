@@ -0,0 +1,106 @@
+package service;
+
+import com.majwic.model.Comment;
+import com.majwic.model.CommentReaction;
+import com.majwic.model.Post;
+import com.majwic.model.PostReaction;
+import com.majwic.model.Profile;
+import com.majwic.repository.CommentReactionRepository;
+import com.majwic.repository.CommentRepository;
+import com.majwic.repository.PostReactionRepository;
+import com.majwic.repository.PostRepository;
+import com.majwic.repository.ProfileRepository;
+import com.majwic.service.CommentService;
+import com.majwic.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+import util.QueryBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Statement budgets for the hot read endpoints; a lazy load or per-item lookup creeping back in breaks them
+@H2ApplicationTest
+public class ReadPathQueryBudgetTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostReactionRepository postReactionRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private CommentReactionRepository commentReactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private String tag;
+    private Long viewerId;
+    private Long postId;
+
+    @BeforeEach
+    public void setUp() {
+        tag = "budget" + UUID.randomUUID().toString().substring(0, 8);
+
+        transactionTemplate.executeWithoutResult(_ -> {
+            Profile viewer = profileRepository.save(new Profile(tag + "@example.com", "hash", "viewer", List.of()));
+            viewerId = viewer.getId();
+
+            List<Post> posts = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE * 2; i++) {
+                posts.add(new Post("Post " + i, List.of(tag), viewer));
+            }
+            postRepository.saveAll(posts);
+            posts.forEach(post -> postReactionRepository.save(new PostReaction(post, viewer, true)));
+            postId = posts.getFirst().getId();
+
+            List<Comment> comments = new ArrayList<>();
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                Comment root = new Comment("Root " + i, posts.getFirst(), null, viewer);
+                comments.add(root);
+                commentRepository.save(root);
+                for (int j = 0; j < 3; j++) {
+                    comments.add(commentRepository.save(new Comment("Reply " + j, posts.getFirst(), root, viewer)));
+                }
+            }
+            comments.forEach(comment -> commentReactionRepository.save(new CommentReaction(comment, viewer, true)));
+        });
+    }
+
+    // The feed page and the viewer's reactions to it
+    @Test
+    public void testTagFeedStaysWithinBudget() {
+        QueryBudget.assertMaxStatements(2,
+            () -> postService.getPostsByTag(tag, "likes", "desc", null, PAGE_SIZE, viewerId));
+    }
+
+    // The post (unless cached), the thread page and the viewer's reactions to it
+    @Test
+    public void testCommentThreadStaysWithinBudget() {
+        QueryBudget.assertMaxStatements(3,
+            () -> commentService.readAll(postId, null, viewerId, "likes", null, PAGE_SIZE));
+    }
+
+    @Test
+    public void testCommentTreeStaysWithinBudget() {
+        QueryBudget.assertMaxStatements(3, () -> commentService.readTree(postId, null, viewerId, 3, PAGE_SIZE));
+    }
+}
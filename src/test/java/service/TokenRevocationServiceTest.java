@@ -0,0 +1,95 @@
+package service;
+
+import com.majwic.model.RevokedToken;
+import com.majwic.repository.RevokedTokenRepository;
+import com.majwic.service.TokenRevocationService;
+import com.majwic.util.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationServiceTest {
+
+    private RevokedTokenRepository revokedTokenRepository;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    public void setUp() {
+        revokedTokenRepository = mock(RevokedTokenRepository.class);
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of());
+        when(revokedTokenRepository.findTokenIdsRevokedAfter(any())).thenReturn(List.of());
+
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository);
+        ReflectionTestUtils.setField(tokenRevocationService, "expectedRevocations", 1000);
+        ReflectionTestUtils.setField(tokenRevocationService, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(tokenRevocationService, "syncOverlap", Duration.ofMinutes(1));
+        tokenRevocationService.rebuild();
+    }
+
+    @Test
+    public void testUnrevokedTokenSkipsTheTable() {
+        assertFalse(tokenRevocationService.isRevoked("tokenId"));
+
+        verify(revokedTokenRepository, never()).existsByTokenId(any());
+    }
+
+    @Test
+    public void testRevokedTokenIsConfirmedByTheTable() {
+        VerifiedToken token = new VerifiedToken("1", "tokenId", Instant.now().plusSeconds(3600));
+        tokenRevocationService.revoke(token);
+        when(revokedTokenRepository.existsByTokenId("tokenId")).thenReturn(true);
+
+        assertTrue(tokenRevocationService.isRevoked("tokenId"));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    public void testSyncPicksUpOtherInstancesRevocations() {
+        when(revokedTokenRepository.findTokenIdsRevokedAfter(any())).thenReturn(List.of("remoteTokenId"));
+        when(revokedTokenRepository.existsByTokenId("remoteTokenId")).thenReturn(true);
+
+        tokenRevocationService.sync();
+
+        assertTrue(tokenRevocationService.isRevoked("remoteTokenId"));
+    }
+
+    @Test
+    public void testSyncReadsBackPastThePreviousSyncByTheOverlap() {
+        tokenRevocationService.sync();
+        tokenRevocationService.sync();
+        Instant after = Instant.now();
+
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+        verify(revokedTokenRepository, times(3)).findTokenIdsRevokedAfter(since.capture());
+        Instant lastSince = since.getAllValues().get(2);
+        assertFalse(lastSince.isAfter(after.minus(Duration.ofMinutes(1))));
+    }
+
+    @Test
+    public void testRebuildLoadsEveryRemainingRevocation() {
+        when(revokedTokenRepository.findAllTokenIds()).thenReturn(List.of("storedTokenId"));
+        when(revokedTokenRepository.existsByTokenId("storedTokenId")).thenReturn(true);
+
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked("storedTokenId"));
+    }
+
+    @Test
+    public void testTokensWithoutIdAreNeverRevoked() {
+        tokenRevocationService.revoke(new VerifiedToken("1", null, Instant.now().plusSeconds(3600)));
+
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository, never()).save(any());
+    }
+}
@@ -97,4 +97,39 @@ public class JsonBuilderTest {
         String expectedJson = "{\"key1\":\"value1\",\"nested\":{\"nestedKey1\":\"nestedValue1\",\"nestedKey2\":123}}";
         assertEquals(expectedJson, builder.toString());
     }
+
+    @Test
+    public void testStringsAreEscaped() {
+        JsonBuilder builder = new JsonBuilder()
+            .add("content", "say \"hi\"\\ \n\t\u0001");
+
+        String expectedJson = "{\"content\":\"say \\\"hi\\\"\\\\ \\n\\t\\u0001\"}";
+        assertEquals(expectedJson, builder.build());
+    }
+
+    @Test
+    public void testKeysAndListItemsAreEscaped() {
+        JsonBuilder builder = new JsonBuilder()
+            .add("a\"b", List.of("x\"y"));
+
+        String expectedJson = "{\"a\\\"b\":[\"x\\\"y\"]}";
+        assertEquals(expectedJson, builder.build());
+    }
+
+    @Test
+    public void testNullValue() {
+        JsonBuilder builder = new JsonBuilder()
+            .add("nextCursor", (String) null);
+
+        String expectedJson = "{\"nextCursor\":null}";
+        assertEquals(expectedJson, builder.build());
+    }
+
+    @Test
+    public void testBuildIsRepeatable() {
+        JsonBuilder builder = new JsonBuilder()
+            .add("key1", "value1");
+
+        assertEquals(builder.build(), builder.build());
+    }
 }
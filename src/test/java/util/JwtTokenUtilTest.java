@@ -8,12 +8,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
+import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.times;
 
 @ExtendWith(MockitoExtension.class)
 public class JwtTokenUtilTest {
@@ -23,7 +28,7 @@ public class JwtTokenUtilTest {
 
     @BeforeEach
     public void setUp() {
-        ReflectionTestUtils.setField(jwtTokenUtil, "secretKey", "mySecretKey");
+        jwtTokenUtil.setSecretKey("mySecretKey");
         ReflectionTestUtils.setField(jwtTokenUtil, "expirationTime", 3600000L);
     }
 
@@ -88,4 +93,37 @@ public class JwtTokenUtilTest {
 
         assertTrue(actualMessage.contains(expectedMessage));
     }
+
+    @Test
+    public void testFindUserIdFromTokenDoesNotThrow() {
+        String token = jwtTokenUtil.generateToken("testUser");
+
+        assertEquals(Optional.of("testUser"), jwtTokenUtil.findUserIdFromToken(token));
+        assertEquals(Optional.empty(), jwtTokenUtil.findUserIdFromToken("invalidToken"));
+        assertEquals(Optional.empty(), jwtTokenUtil.findUserIdFromToken(""));
+    }
+
+    @Test
+    public void testVerifiedTokenIsCachedUntilSecretChanges() {
+        String token = jwtTokenUtil.generateToken("testUser");
+        assertEquals("testUser", jwtTokenUtil.getUserIdFromToken(token));
+        assertEquals("testUser", jwtTokenUtil.getUserIdFromToken(token));
+
+        jwtTokenUtil.setSecretKey("otherSecretKey");
+
+        assertThrows(UnauthorizedException.class, () -> jwtTokenUtil.getUserIdFromToken(token));
+    }
+
+    @Test
+    public void testCachedTokenIsParsedOnlyOnce() {
+        String token = jwtTokenUtil.generateToken("testUser");
+
+        try (MockedStatic<Jwts> jwts = mockStatic(Jwts.class, CALLS_REAL_METHODS)) {
+            assertEquals("testUser", jwtTokenUtil.getUserIdFromToken(token));
+            assertEquals("testUser", jwtTokenUtil.getUserIdFromToken(token));
+            assertEquals("testUser", jwtTokenUtil.getUserIdFromToken(token));
+
+            jwts.verify(Jwts::parser, times(1));
+        }
+    }
 }
@@ -0,0 +1,107 @@
+package util;
+
+import com.majwic.configuration.QueryStatsSessionListener;
+import com.majwic.exception.ResourceNotFoundException;
+import com.majwic.exception.ServiceUnavailableException;
+import com.majwic.util.ParallelLookups;
+import com.majwic.util.QueryStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelLookupsTest {
+
+    private final ParallelLookups parallelLookups = new ParallelLookups(true, Duration.ofSeconds(5));
+
+    @AfterEach
+    public void tearDown() {
+        parallelLookups.shutdown();
+        QueryStats.end();
+    }
+
+    @Test
+    public void testForkRunsOnAnotherThread() {
+        Thread caller = Thread.currentThread();
+
+        Thread worker = parallelLookups.fork(Thread::currentThread).join();
+
+        assertNotEquals(caller, worker);
+    }
+
+    @Test
+    public void testForkRethrowsLookupException() {
+        ParallelLookups.Lookup<Object> lookup = parallelLookups.fork(() -> {
+            throw new ResourceNotFoundException("Post not found");
+        });
+
+        assertThrows(ResourceNotFoundException.class, lookup::join);
+    }
+
+    @Test
+    public void testForkedStatementsCountTowardsTheRequest() {
+        QueryStatsSessionListener listener = new QueryStatsSessionListener();
+        QueryStats stats = QueryStats.begin();
+
+        parallelLookups.fork(() -> {
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            return null;
+        }).join();
+
+        assertEquals(1, stats.statementCount());
+    }
+
+    @Test
+    public void testClosingBeforeJoinCancelsTheLookup() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        try (ParallelLookups.Lookup<Object> _ = parallelLookups.fork(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        })) {
+            started.await();
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testJoinGivesUpAfterTheTimeout() {
+        ParallelLookups slow = new ParallelLookups(true, Duration.ofMillis(50));
+        try {
+            ParallelLookups.Lookup<Object> lookup = slow.fork(() -> {
+                try {
+                    Thread.sleep(Duration.ofMinutes(1));
+                } catch (InterruptedException _) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+
+            assertThrows(ServiceUnavailableException.class, lookup::join);
+        } finally {
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    public void testDisabledRunsInline() {
+        ParallelLookups inline = new ParallelLookups(false, Duration.ofSeconds(5));
+
+        assertEquals(Thread.currentThread(), inline.fork(Thread::currentThread).join());
+    }
+}
@@ -0,0 +1,75 @@
+package util;
+
+import com.majwic.exception.ServiceUnavailableException;
+import com.majwic.util.PasswordHasher;
+import com.majwic.util.PasswordUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHasherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(4, 2, 10, Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    public void testHashAndVerify() {
+        String hashedPassword = passwordHasher.hash("Password1");
+
+        assertTrue(hashedPassword.startsWith("$2a$04$"));
+        assertTrue(passwordHasher.verify("Password1", hashedPassword));
+        assertFalse(passwordHasher.verify("Password2", hashedPassword));
+        assertEquals(1, meterRegistry.get("password.bcrypt.duration").tag("operation", "hash").timer().count());
+    }
+
+    @Test
+    public void testVerifyAcceptsHashesFromOtherCosts() {
+        assertTrue(passwordHasher.verify("Password1", PasswordUtil.hashPassword("Password1")));
+    }
+
+    @Test
+    public void testNeedsRehash() {
+        assertFalse(passwordHasher.needsRehash(passwordHasher.hash("Password1")));
+        assertTrue(passwordHasher.needsRehash(PasswordUtil.hashPassword("Password1")));
+    }
+
+    @Test
+    public void testCallerGivingUpInTheQueueNeverRunsItsHash() throws Exception {
+        PasswordHasher slowHasher = new PasswordHasher(12, 1, 10, Duration.ofMillis(50), meterRegistry);
+        try {
+            Thread busy = Thread.ofPlatform().start(() -> slowHasher.hash("Password1"));
+            Thread.sleep(20);
+
+            assertThrows(ServiceUnavailableException.class, () -> slowHasher.hash("Password2"));
+
+            busy.join();
+            slowHasher.hash("Password3");
+            assertEquals(2, meterRegistry.get("password.bcrypt.duration").tag("operation", "hash").timer().count());
+            assertEquals(1, meterRegistry.get("password.bcrypt.rejected").counter().count());
+        } finally {
+            slowHasher.shutdown();
+        }
+    }
+
+    @Test
+    public void testNonBcryptHashNeverMatches() {
+        assertFalse(passwordHasher.verify("Password1", "not-a-bcrypt-hash"));
+        assertFalse(passwordHasher.needsRehash("not-a-bcrypt-hash"));
+    }
+}
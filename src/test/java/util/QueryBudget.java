@@ -0,0 +1,27 @@
+package util;
+
+import com.majwic.util.QueryStats;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fails the test when the action issues more SQL statements than the endpoint is allowed
+public final class QueryBudget {
+
+    private QueryBudget() {}
+
+    public static <T> T assertMaxStatements(int budget, Supplier<T> action) {
+        QueryStats stats = QueryStats.begin();
+        try {
+            T result = action.get();
+            assertTrue(stats.statementCount() <= budget, () -> "Expected at most " + budget +
+                " statements but " + stats.statementCount() + " ran" + stats.mostRepeatedStatement()
+                    .map(entry -> "; most repeated (" + entry.getValue() + "x): " + entry.getKey())
+                    .orElse(""));
+            return result;
+        } finally {
+            QueryStats.end();
+        }
+    }
+}
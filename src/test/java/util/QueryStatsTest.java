@@ -0,0 +1,102 @@
+package util;
+
+import com.majwic.configuration.QueryStatsFilter;
+import com.majwic.configuration.QueryStatsSessionListener;
+import com.majwic.configuration.QueryStatsStatementInspector;
+import com.majwic.util.QueryStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class QueryStatsTest {
+
+    private final QueryStatsSessionListener listener = new QueryStatsSessionListener();
+    private final QueryStatsStatementInspector inspector = new QueryStatsStatementInspector();
+
+    @AfterEach
+    public void tearDown() {
+        QueryStats.end();
+    }
+
+    @Test
+    public void testStatementsAreCountedOnlyWhileActive() {
+        executeStatement("select 1");
+
+        QueryStats stats = QueryStats.begin();
+        executeStatement("select 1");
+        executeStatement("select 2");
+        QueryStats.end();
+        executeStatement("select 3");
+
+        assertEquals(2, stats.statementCount());
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    public void testMostRepeatedStatement() {
+        QueryStats stats = QueryStats.begin();
+        executeStatement("select * from post");
+        for (int i = 0; i < 3; i++) {
+            executeStatement("select * from profile where id=?");
+        }
+
+        assertEquals("select * from profile where id=?", stats.mostRepeatedStatement().orElseThrow().getKey());
+        assertEquals(3, stats.mostRepeatedStatement().orElseThrow().getValue());
+    }
+
+    @Test
+    public void testQueryBudgetWithinLimit() {
+        String result = QueryBudget.assertMaxStatements(2, () -> {
+            executeStatement("select 1");
+            executeStatement("select 2");
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+    }
+
+    @Test
+    public void testQueryBudgetExceeded() {
+        assertThrows(AssertionFailedError.class, () -> QueryBudget.assertMaxStatements(1, () -> {
+            executeStatement("select 1");
+            executeStatement("select 1");
+            return null;
+        }));
+    }
+
+    @Test
+    public void testFilterAddsHeadersAndMetrics() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        QueryStatsFilter filter = new QueryStatsFilter(meterRegistry);
+        ReflectionTestUtils.setField(filter, "responseHeaders", true);
+        ReflectionTestUtils.setField(filter, "repeatedStatementThreshold", 5);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (_, _) -> {
+            executeStatement("select 1");
+            executeStatement("select 2");
+        };
+        filter.doFilter(new MockHttpServletRequest("GET", "/post/tag"), response, chain);
+
+        assertEquals("2", response.getHeader(QueryStatsFilter.QUERY_COUNT_HEADER));
+        assertEquals(2.0, meterRegistry.get("http.server.requests.db.statements").summary().totalAmount());
+        assertNull(QueryStats.current());
+    }
+
+    // === Private Helper Methods === //
+
+    private void executeStatement(String sql) {
+        inspector.inspect(sql);
+        listener.jdbcExecuteStatementStart();
+        listener.jdbcExecuteStatementEnd();
+    }
+}
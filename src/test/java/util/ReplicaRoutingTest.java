@@ -0,0 +1,167 @@
+package util;
+
+import com.majwic.configuration.ReplicaProperties;
+import com.majwic.configuration.ReplicaRoutingDataSource;
+import com.majwic.configuration.ReplicaRoutingFilter;
+import com.majwic.util.ReplicaReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// In-memory H2 databases stand in for the primary and two replicas; each answers with its own name
+public class ReplicaRoutingTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = database("primary");
+        ReplicaRoutingDataSource routing =
+            new ReplicaRoutingDataSource(primary, List.of(database("replica-a"), database("replica-b")));
+        routing.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ReplicaReads.clear();
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesReplicaWhenAllowed() {
+        ReplicaReads.allow();
+
+        assertTrue(readOnly.execute(_ -> whoAnswers()).startsWith("replica-"));
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesPrimaryWhenNotAllowed() {
+        assertEquals("primary", readOnly.execute(_ -> whoAnswers()));
+    }
+
+    @Test
+    public void testReadWriteTransactionUsesPrimaryEvenWhenAllowed() {
+        ReplicaReads.allow();
+
+        assertEquals("primary", readWrite.execute(_ -> whoAnswers()));
+    }
+
+    @Test
+    public void testStatementOutsideTransactionUsesPrimary() {
+        ReplicaReads.allow();
+
+        assertEquals("primary", whoAnswers());
+    }
+
+    @Test
+    public void testReplicasAreTakenInTurn() {
+        ReplicaReads.allow();
+
+        List<String> answers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            answers.add(readOnly.execute(_ -> whoAnswers()));
+        }
+
+        assertEquals(List.of("replica-a", "replica-b", "replica-a", "replica-b"), answers);
+    }
+
+    @Test
+    public void testOnPrimaryRoutesLookupToPrimaryAndRestoresFlag() {
+        ReplicaReads.allow();
+
+        String answer = readOnly.execute(_ -> ReplicaReads.onPrimary(this::whoAnswers));
+
+        assertEquals("primary", answer);
+        assertTrue(ReplicaReads.isAllowed());
+    }
+
+    @Test
+    public void testGetWithoutCookieMayUseReplica() throws Exception {
+        boolean[] allowed = new boolean[1];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter().doFilter(new MockHttpServletRequest("GET", "/post/1"), response, chain(allowed));
+
+        assertTrue(allowed[0]);
+        assertNull(response.getCookie(ReplicaRoutingFilter.READ_PRIMARY_COOKIE));
+        assertFalse(ReplicaReads.isAllowed());
+    }
+
+    @Test
+    public void testWriteSetsReadPrimaryCookie() throws Exception {
+        boolean[] allowed = new boolean[1];
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter().doFilter(new MockHttpServletRequest("POST", "/post"), response, chain(allowed));
+
+        Cookie cookie = response.getCookie(ReplicaRoutingFilter.READ_PRIMARY_COOKIE);
+        assertFalse(allowed[0]);
+        assertNotNull(cookie);
+        assertEquals(3, cookie.getMaxAge());
+    }
+
+    @Test
+    public void testGetAfterOwnWriteStaysOnPrimary() throws Exception {
+        boolean[] allowed = new boolean[1];
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/post/1");
+        request.setCookies(new Cookie(ReplicaRoutingFilter.READ_PRIMARY_COOKIE, "1"));
+
+        filter().doFilter(request, new MockHttpServletResponse(), chain(allowed));
+
+        assertFalse(allowed[0]);
+    }
+
+    // === Private Helper Methods === //
+
+    private String whoAnswers() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:replica_routing_" + name.replace('-', '_') + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static ReplicaRoutingFilter filter() {
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setStickyWindow(Duration.ofMillis(2500));
+        return new ReplicaRoutingFilter(properties);
+    }
+
+    private static FilterChain chain(boolean[] allowed) {
+        return (_, _) -> allowed[0] = ReplicaReads.isAllowed();
+    }
+}
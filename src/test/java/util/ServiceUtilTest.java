@@ -5,6 +5,7 @@ import com.majwic.model.Comment;
 import com.majwic.model.Post;
 import com.majwic.model.Profile;
 import com.majwic.model.Role;
+import com.majwic.projection.PostView;
 import com.majwic.repository.CommentRepository;
 import com.majwic.repository.PostRepository;
 import com.majwic.repository.ProfileRepository;
@@ -13,11 +14,16 @@ import com.majwic.util.ServiceUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ServiceUtilTest {
@@ -41,7 +47,7 @@ public class ServiceUtilTest {
     public void testGetProfileByIdOrThrowWhenFound() {
         Profile profile = new Profile();
         profile.setId(1L);
-        when(profileRepository.findById(1L)).thenReturn(Optional.of(profile));
+        when(profileRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(profile));
 
         Profile result = serviceUtil.getProfileByIdOrThrow(1L);
         assertEquals(profile, result);
@@ -49,7 +55,7 @@ public class ServiceUtilTest {
 
     @Test
     public void testGetProfileByIdOrThrowWhenNotFound() {
-        when(profileRepository.findById(1L)).thenReturn(Optional.empty());
+        when(profileRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             serviceUtil.getProfileByIdOrThrow(1L);
@@ -58,11 +64,23 @@ public class ServiceUtilTest {
         assertEquals("Profile not found", exception.getMessage());
     }
 
+    @Test
+    public void testGetPasswordHashOrThrowWhenNotFound() {
+        when(profileRepository.findPasswordById(1L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            serviceUtil.getPasswordHashOrThrow(1L);
+        });
+
+        assertEquals("Profile not found", exception.getMessage());
+        verify(profileRepository, never()).findByIdAndDeletedFalse(any());
+    }
+
     @Test
     public void testGetPostByIdOrThrowWhenFound() {
         Post post = new Post();
         post.setId(1L);
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(post));
 
         Post result = serviceUtil.getPostByIdOrThrow(1L);
         assertEquals(post, result);
@@ -70,7 +88,7 @@ public class ServiceUtilTest {
 
     @Test
     public void testGetPostByIdOrThrowWhenNotFound() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(postRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             serviceUtil.getPostByIdOrThrow(1L);
@@ -79,11 +97,44 @@ public class ServiceUtilTest {
         assertEquals("Post not found", exception.getMessage());
     }
 
+    @Test
+    public void testGetPostViewOrThrowWhenFound() {
+        PostView view = new PostView(1L, "content", 3, 0, 0, "tag1,tag2", 2L, Instant.EPOCH);
+        when(postRepository.findViewById(1L)).thenReturn(Optional.of(view));
+
+        PostView result = serviceUtil.getPostViewOrThrow(1L);
+        assertEquals(List.of("tag1", "tag2"), result.tags());
+        verify(postRepository, never()).findByIdAndDeletedFalse(any());
+    }
+
+    @Test
+    public void testGetPostViewOrThrowWhenNotFound() {
+        when(postRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            serviceUtil.getPostViewOrThrow(1L);
+        });
+
+        assertEquals("Post not found", exception.getMessage());
+    }
+
+    @Test
+    public void testGetProfileViewOrThrowWhenNotFound() {
+        when(profileRepository.findViewById(1L)).thenReturn(Optional.empty());
+
+        Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
+            serviceUtil.getProfileViewOrThrow(1L);
+        });
+
+        assertEquals("Profile not found", exception.getMessage());
+        verify(profileRepository, never()).findByIdAndDeletedFalse(any());
+    }
+
     @Test
     public void testGetCommentByIdOrThrowWhenFound() {
         Comment comment = new Comment();
         comment.setId(1L);
-        when(commentRepository.findById(1L)).thenReturn(Optional.of(comment));
+        when(commentRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.of(comment));
 
         Comment result = serviceUtil.getCommentByIdOrThrow(1L);
         assertEquals(comment, result);
@@ -91,7 +142,7 @@ public class ServiceUtilTest {
 
     @Test
     public void testGetCommentByIdOrThrowWhenNotFound() {
-        when(commentRepository.findById(1L)).thenReturn(Optional.empty());
+        when(commentRepository.findByIdAndDeletedFalse(1L)).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             serviceUtil.getCommentByIdOrThrow(1L);
@@ -125,7 +176,7 @@ public class ServiceUtilTest {
     public void testGetByEmailOrThrowWhenFound() {
         Profile profile = new Profile();
         profile.setEmail("test@example.com");
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(Optional.of(profile));
+        when(profileRepository.findByEmailAndDeletedFalse("test@example.com")).thenReturn(Optional.of(profile));
 
         Profile result = serviceUtil.getByEmailOrThrow("test@example.com");
         assertEquals(profile, result);
@@ -133,7 +184,7 @@ public class ServiceUtilTest {
 
     @Test
     public void testGetByEmailOrThrowWhenNotFound() {
-        when(profileRepository.findByEmail("test@example.com")).thenReturn(Optional.empty());
+        when(profileRepository.findByEmailAndDeletedFalse("test@example.com")).thenReturn(Optional.empty());
 
         Exception exception = assertThrows(ResourceNotFoundException.class, () -> {
             serviceUtil.getByEmailOrThrow("test@example.com");
@@ -0,0 +1,74 @@
+package util;
+
+import com.majwic.util.TopK;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TopKTest {
+
+    @Test
+    public void testPageIsOrderedByScoreThenId() {
+        TopK topK = new TopK(10);
+        topK.update(1, 2.0);
+        topK.update(2, 5.0);
+        topK.update(3, 2.0);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(topK.page(null, 10)));
+    }
+
+    @Test
+    public void testUpdateMovesExistingEntry() {
+        TopK topK = new TopK(10);
+        topK.update(1, 1.0);
+        topK.update(2, 2.0);
+
+        topK.update(1, 3.0);
+
+        assertEquals(List.of(1L, 2L), ids(topK.page(null, 10)));
+        assertEquals(2, topK.size());
+    }
+
+    @Test
+    public void testLowestEntryFallsOutAtCapacity() {
+        TopK topK = new TopK(2);
+        topK.update(1, 1.0);
+        topK.update(2, 2.0);
+        topK.update(3, 3.0);
+        topK.update(4, 0.5);
+
+        assertEquals(List.of(3L, 2L), ids(topK.page(null, 10)));
+    }
+
+    @Test
+    public void testPageContinuesAfterEntry() {
+        TopK topK = new TopK(10);
+        for (long id = 1; id <= 5; id++) {
+            topK.update(id, id);
+        }
+
+        List<TopK.Entry> first = topK.page(null, 2);
+        List<TopK.Entry> second = topK.page(first.getLast(), 2);
+
+        assertEquals(List.of(5L, 4L), ids(first));
+        assertEquals(List.of(3L, 2L), ids(second));
+    }
+
+    @Test
+    public void testRemove() {
+        TopK topK = new TopK(10);
+        topK.update(1, 1.0);
+
+        topK.remove(1);
+
+        assertEquals(0, topK.size());
+    }
+
+    // === Private Helper Methods === //
+
+    private static List<Long> ids(List<TopK.Entry> entries) {
+        return entries.stream().map(TopK.Entry::id).toList();
+    }
+}